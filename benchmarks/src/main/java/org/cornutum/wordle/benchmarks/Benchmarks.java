@@ -0,0 +1,45 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs Wordles benchmarks, reporting allocation rates with the JMH GC profiler. Accepts
+ * all standard JMH command line options, e.g. a regular expression to select benchmarks.
+ */
+public final class Benchmarks
+  {
+  /**
+   * Creates a new Benchmarks instance.
+   */
+  private Benchmarks()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Runs Wordles benchmarks.
+   */
+  public static void main( String[] args) throws Exception
+    {
+    CommandLineOptions commandLine = new CommandLineOptions( args);
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent( commandLine);
+    if( commandLine.getIncludes().isEmpty())
+      {
+      options.include( Benchmarks.class.getPackage().getName() + ".*");
+      }
+    options.addProfiler( GCProfiler.class);
+
+    new Runner( options.build()).run();
+    }
+  }
@@ -0,0 +1,80 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle.benchmarks;
+
+import org.cornutum.wordle.Dictionary;
+import org.cornutum.wordle.WordPattern;
+import org.cornutum.wordle.WordPatternGroups;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of comparing one guess to every target in a word list.
+ */
+@State( Scope.Benchmark)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.MICROSECONDS)
+@Warmup( iterations = 3, time = 2)
+@Measurement( iterations = 5, time = 2)
+@Fork( 1)
+public class PatternBenchmark
+  {
+  @Param( { "500", "2000", "8000"})
+  public int size;
+
+  @Setup
+  public void setUp()
+    {
+    words_ = WordLists.generate( size, 0);
+    guess_ = words_.get( 0);
+    dictionary_ = new Dictionary( words_);
+    }
+
+  @Benchmark
+  public void patternFor( Blackhole blackhole)
+    {
+    for( String target : words_)
+      {
+      blackhole.consume( WordPattern.patternFor( target, guess_));
+      }
+    }
+
+  @Benchmark
+  public void patternCode( Blackhole blackhole)
+    {
+    for( String target : words_)
+      {
+      blackhole.consume( WordPattern.patternCode( target, guess_));
+      }
+    }
+
+  @Benchmark
+  public byte[] patternCodes()
+    {
+    return WordPattern.patternCodes( guess_, dictionary_);
+    }
+
+  @Benchmark
+  public WordPatternGroups addPattern()
+    {
+    WordPatternGroups groups = new WordPatternGroups( guess_);
+    for( String target : words_)
+      {
+      groups.addPattern( target);
+      }
+    return groups;
+    }
+
+  private List<String> words_;
+  private String guess_;
+  private Dictionary dictionary_;
+  }
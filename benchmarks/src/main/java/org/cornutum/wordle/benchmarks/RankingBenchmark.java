@@ -0,0 +1,75 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle.benchmarks;
+
+import org.cornutum.wordle.Rankings;
+import org.cornutum.wordle.WordPatternGroups;
+import org.cornutum.wordle.Wordles;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of ranking all guesses in a word list.
+ */
+@State( Scope.Benchmark)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.MILLISECONDS)
+@Warmup( iterations = 3, time = 2)
+@Measurement( iterations = 5, time = 2)
+@Fork( 1)
+public class RankingBenchmark
+  {
+  @Param( { "500", "2000", "8000"})
+  public int size;
+
+  @Param( { "bySize", "byVariance", "byMaxGroup", "byGuess", "byCombined", "byEntropy", "byExpectedSize", "byEntropyThenGuess", "byExpectedSizeThenGuess"})
+  public String ranking;
+
+  @Setup
+  public void setUp() throws Exception
+    {
+    words_ = WordLists.generate( size, 0);
+    patternGroups_ = new Wordles( words_).getWordPatternGroups();
+    comparator_ = comparator( ranking);
+    }
+
+  @Benchmark
+  public List<WordPatternGroups> getWordPatternGroups()
+    {
+    return new Wordles( words_).getWordPatternGroups();
+    }
+
+  @Benchmark
+  public List<WordPatternGroups> ranked()
+    {
+    return Rankings.ranked( new ArrayList<WordPatternGroups>( patternGroups_), comparator_);
+    }
+
+  @Benchmark
+  public List<WordPatternGroups> rankedByKey()
+    {
+    return Rankings.rankedByKey( new ArrayList<WordPatternGroups>( patternGroups_), comparator_);
+    }
+
+  @SuppressWarnings("unchecked")
+  private static Comparator<WordPatternGroups> comparator( String name) throws Exception
+    {
+    Field field = Rankings.class.getField( name);
+    return (Comparator<WordPatternGroups>) field.get( null);
+    }
+
+  private List<String> words_;
+  private List<WordPatternGroups> patternGroups_;
+  private Comparator<WordPatternGroups> comparator_;
+  }
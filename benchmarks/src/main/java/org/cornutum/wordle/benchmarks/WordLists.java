@@ -0,0 +1,54 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates reproducible word lists for benchmarks.
+ */
+public final class WordLists
+  {
+  /**
+   * Creates a new WordLists instance.
+   */
+  private WordLists()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Returns a list of the given number of distinct random words. Letters are chosen
+   * with roughly the frequency of letters in English words, so that pattern groups
+   * have a realistic distribution of sizes. The same list is returned for the same
+   * size and seed.
+   */
+  public static List<String> generate( int size, long seed)
+    {
+    Random random = new Random( seed);
+    Set<String> words = new LinkedHashSet<String>();
+    char[] word = new char[5];
+    while( words.size() < size)
+      {
+      for( int i = 0; i < word.length; i++)
+        {
+        word[i] = LETTERS.charAt( random.nextInt( LETTERS.length()));
+        }
+      words.add( new String( word));
+      }
+
+    return new ArrayList<String>( words);
+    }
+
+  private static final String LETTERS =
+    "EEEEEEEEEEEEAAAAAAAAARRRRRRRRIIIIIIIIOOOOOOOTTTTTTTNNNNNNNSSSSSSSLLLLLCCCCUUUUDDDPPPMMMHHHGGBBFFYYWKVXZJQ";
+  }
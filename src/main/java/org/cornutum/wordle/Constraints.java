@@ -0,0 +1,193 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import static org.cornutum.wordle.Clue.*;
+
+import java.util.Arrays;
+
+/**
+ * Defines the constraints on guesses accumulated from the clues revealed for previous guesses, as required
+ * in Wordle hard mode.
+ * <P/>
+ * A legal guess must use each letter that received a green clue in the same position. It must contain each letter
+ * at least as many times as this letter received a green or yellow clue for any previous guess. It must not contain any
+ * letter that received only white clues. Letters are identified by their codes in the range [0,26).
+ * <P/>
+ * A Constraints instance is immutable. Adding the clues for a guess returns a new instance.
+ */
+public class Constraints
+  {
+  /**
+   * Creates a new Constraints instance with no constraints.
+   */
+  public Constraints()
+    {
+    this( new int[]{ -1, -1, -1, -1, -1}, new int[ Dictionary.LETTERS], 0);
+    }
+
+  /**
+   * Creates a new Constraints instance.
+   */
+  private Constraints( int[] greens, int[] minCounts, int excluded)
+    {
+    greens_ = greens;
+    minCounts_ = minCounts;
+    excluded_ = excluded;
+    }
+
+  /**
+   * Returns a new Constraints instance that adds the constraints given by the pattern of clues for the given guess.
+   */
+  public Constraints with( String guess, WordPattern pattern)
+    {
+    if( !Dictionary.isPackable( guess))
+      {
+      throw new IllegalArgumentException( String.format( "'%s' is not a 5-letter word using only A-Z", guess));
+      }
+
+    int[] greens = Arrays.copyOf( greens_, greens_.length);
+    int[] minCounts = Arrays.copyOf( minCounts_, minCounts_.length);
+    int excluded = excluded_;
+
+    int[] found = new int[ Dictionary.LETTERS];
+    int white = 0;
+    for( int i = 0; i < 5; i++)
+      {
+      int letter = letterCode( guess, i);
+      Clue clue = pattern.getClue( i);
+      if( clue == WHITE)
+        {
+        white |= 1 << letter;
+        }
+      else
+        {
+        found[ letter]++;
+        if( clue == GREEN)
+          {
+          greens[i] = letter;
+          }
+        }
+      }
+
+    for( int letter = 0; letter < Dictionary.LETTERS; letter++)
+      {
+      minCounts[ letter] = Math.max( minCounts[ letter], found[ letter]);
+      if( found[ letter] == 0 && (white & (1 << letter)) != 0)
+        {
+        excluded |= 1 << letter;
+        }
+      }
+
+    return new Constraints( greens, minCounts, excluded);
+    }
+
+  /**
+   * Returns the code of the letter required at the given position. Returns -1 if any letter is allowed.
+   */
+  public int getGreen( int position)
+    {
+    return greens_[ position];
+    }
+
+  /**
+   * Returns the minimum number of times the given letter code must occur.
+   */
+  public int getMinCount( int letter)
+    {
+    return minCounts_[ letter];
+    }
+
+  /**
+   * Returns the mask of letters that must not occur. The bit for each letter is <CODE>1 &lt;&lt; letterCode</CODE>.
+   */
+  public int getExcluded()
+    {
+    return excluded_;
+    }
+
+  /**
+   * Returns if there are no constraints.
+   */
+  public boolean isEmpty()
+    {
+    return
+      excluded_ == 0
+      && Arrays.stream( greens_).allMatch( letter -> letter < 0)
+      && Arrays.stream( minCounts_).allMatch( count -> count == 0);
+    }
+
+  /**
+   * Returns if the given word satisfies these constraints.
+   */
+  public boolean isSatisfiedBy( String word)
+    {
+    boolean satisfied = Dictionary.isPackable( word);
+
+    int[] counts = new int[ Dictionary.LETTERS];
+    for( int i = 0; satisfied && i < 5; i++)
+      {
+      int letter = letterCode( word, i);
+      counts[ letter]++;
+      satisfied =
+        (greens_[i] < 0 || greens_[i] == letter)
+        && (excluded_ & (1 << letter)) == 0;
+      }
+
+    for( int letter = 0; satisfied && letter < Dictionary.LETTERS; letter++)
+      {
+      satisfied = counts[ letter] >= minCounts_[ letter];
+      }
+
+    return satisfied;
+    }
+
+  /**
+   * Returns the code of the letter at the given position of the given word.
+   */
+  private static int letterCode( String word, int position)
+    {
+    return Character.toUpperCase( word.charAt( position)) - 'A';
+    }
+
+  public String toString()
+    {
+    StringBuilder builder = new StringBuilder( getClass().getSimpleName()).append( '[');
+
+    for( int i = 0; i < 5; i++)
+      {
+      builder.append( greens_[i] < 0? '.' : (char) ('A' + greens_[i]));
+      }
+
+    for( int letter = 0; letter < Dictionary.LETTERS; letter++)
+      {
+      if( minCounts_[ letter] > 0)
+        {
+        builder.append( ',').append( (char) ('A' + letter)).append( ">=").append( minCounts_[ letter]);
+        }
+      }
+
+    if( excluded_ != 0)
+      {
+      builder.append( ",-");
+      for( int letter = 0; letter < Dictionary.LETTERS; letter++)
+        {
+        if( (excluded_ & (1 << letter)) != 0)
+          {
+          builder.append( (char) ('A' + letter));
+          }
+        }
+      }
+
+    return builder.append( ']').toString();
+    }
+
+  private final int[] greens_;
+  private final int[] minCounts_;
+  private final int excluded_;
+  }
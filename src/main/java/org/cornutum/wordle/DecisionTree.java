@@ -0,0 +1,126 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Defines a strategy for finding any of a set of target words.
+ * <P/>
+ * Each node of a decision tree gives the guess to make next. After this guess, the tree continues with the branch for the
+ * pattern of clues received. If the guess is one of the remaining targets, the all-green pattern ends the search, so there
+ * is no branch for this pattern.
+ */
+public class DecisionTree
+  {
+  /**
+   * Creates a new DecisionTree instance.
+   */
+  public DecisionTree( String guess, boolean target, Map<WordPattern,DecisionTree> branches)
+    {
+    guess_ = guess;
+    target_ = target;
+    branches_ = Collections.unmodifiableMap( branches);
+
+    // Every target found by this tree needs the next guess, plus all guesses needed by its branch.
+    int targets = target? 1 : 0;
+    long branchGuesses = 0;
+    int maxGuesses = targets;
+    for( DecisionTree branch : branches_.values())
+      {
+      targets += branch.getTargetCount();
+      branchGuesses += branch.getTotalGuesses();
+      maxGuesses = Math.max( maxGuesses, branch.getMaxGuesses() + 1);
+      }
+
+    targetCount_ = targets;
+    totalGuesses_ = targets + branchGuesses;
+    maxGuesses_ = maxGuesses;
+    }
+
+  /**
+   * Returns the next guess word.
+   */
+  public String getGuess()
+    {
+    return guess_;
+    }
+
+  /**
+   * Returns if the next guess is one of the remaining targets.
+   */
+  public boolean isTarget()
+    {
+    return target_;
+    }
+
+  /**
+   * Returns the decision tree that continues after each pattern received for the next guess.
+   */
+  public Map<WordPattern,DecisionTree> getBranches()
+    {
+    return branches_;
+    }
+
+  /**
+   * Returns the number of targets found by this decision tree.
+   */
+  public int getTargetCount()
+    {
+    return targetCount_;
+    }
+
+  /**
+   * Returns the total number of guesses needed to find every target.
+   */
+  public long getTotalGuesses()
+    {
+    return totalGuesses_;
+    }
+
+  /**
+   * Returns the maximum number of guesses needed to find any target.
+   */
+  public int getMaxGuesses()
+    {
+    return maxGuesses_;
+    }
+
+  /**
+   * Returns the average number of guesses needed to find a target.
+   */
+  public double getAverageGuesses()
+    {
+    return
+      targetCount_ == 0
+      ? 0.0
+      : (double) totalGuesses_ / targetCount_;
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( getGuess())
+      .append( ',')
+      .append( getTargetCount())
+      .append( ',')
+      .append( getTotalGuesses())
+      .append( ']')
+      .toString();
+    }
+
+  private final String guess_;
+  private final boolean target_;
+  private final Map<WordPattern,DecisionTree> branches_;
+  private final int targetCount_;
+  private final long totalGuesses_;
+  private final int maxGuesses_;
+  }
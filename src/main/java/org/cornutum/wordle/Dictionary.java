@@ -0,0 +1,325 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Defines a set of distinct 5-letter words, each identified by a dense integer id.
+ * <P/>
+ * Words are stored in alphabetical order, so the id of each word is its position in this order. Each word
+ * must contain only the letters A-Z. Each word is also stored packed into an <CODE>int</CODE>, using 5 bits for each
+ * letter code in the range [0,26), with the first letter in the most significant bits. Packed words have the same
+ * order as the words themselves.
+ * <P/>
+ * For each word, a Dictionary also stores a mask of the letters it contains and the number of times each letter occurs.
+ */
+public class Dictionary
+  {
+  /**
+   * Creates a new Dictionary instance containing the given words. Duplicate words are ignored.
+   */
+  public Dictionary( Collection<String> words)
+    {
+    this(
+      Optional.ofNullable( words).orElse( emptyList()).stream()
+      .mapToInt( Dictionary::pack)
+      .toArray());
+    }
+
+  /**
+   * Creates a new Dictionary instance containing the given packed words.
+   */
+  private Dictionary( int[] words)
+    {
+    this( IntStream.of( words).sorted().distinct().toArray(), null);
+    }
+
+  /**
+   * Creates a new Dictionary instance containing the given packed words, which must be distinct and in
+   * increasing order. If the given letter masks are null, they are computed from the packed words.
+   */
+  private Dictionary( int[] packed, int[] letterMasks)
+    {
+    packed_ = packed;
+
+    int size = packed_.length;
+    List<String> unpacked = new ArrayList<String>( size);
+    letterMasks_ = letterMasks == null? new int[ size] : letterMasks;
+    letterCounts_ = new byte[ size * LETTERS];
+    for( int id = 0; id < size; id++)
+      {
+      int word = packed_[ id];
+      unpacked.add( unpack( word));
+      if( letterMasks == null)
+        {
+        letterMasks_[ id] = letterMask( word);
+        }
+      for( int i = 0; i < 5; i++)
+        {
+        letterCounts_[ id * LETTERS + letterAt( word, i)]++;
+        }
+      }
+    words_ = unmodifiableList( unpacked);
+    }
+
+  /**
+   * Returns a new Dictionary containing the given {@link #pack packed} words. Duplicate words are ignored.
+   */
+  public static Dictionary ofPacked( int[] packed)
+    {
+    for( int word : packed)
+      {
+      if( !isPacked( word))
+        {
+        throw new IllegalArgumentException( String.format( "0x%x is not a packed word", word));
+        }
+      }
+
+    return new Dictionary( packed);
+    }
+
+  /**
+   * Returns a new Dictionary containing the given {@link #pack packed} words, which must be distinct and in increasing
+   * order, with the given letter masks. If the letter masks are null, they are computed from the packed words.
+   */
+  static Dictionary ofSorted( int[] packed, int[] letterMasks)
+    {
+    for( int id = 0; id < packed.length; id++)
+      {
+      if( !isPacked( packed[ id]))
+        {
+        throw new IllegalArgumentException( String.format( "0x%x is not a packed word", packed[ id]));
+        }
+      if( id > 0 && packed[ id] <= packed[ id - 1])
+        {
+        throw new IllegalArgumentException( String.format( "Packed word=0x%x is out of order", packed[ id]));
+        }
+      }
+    if( letterMasks != null && letterMasks.length != packed.length)
+      {
+      throw new IllegalArgumentException( String.format( "Expected %s letter masks but found %s", packed.length, letterMasks.length));
+      }
+
+    return new Dictionary( packed, letterMasks);
+    }
+
+  /**
+   * Returns the number of words in this dictionary.
+   */
+  public int size()
+    {
+    return packed_.length;
+    }
+
+  /**
+   * Returns the words in this dictionary, in id order.
+   */
+  public List<String> getWords()
+    {
+    return words_;
+    }
+
+  /**
+   * Returns the word with the given id.
+   */
+  public String getWord( int id)
+    {
+    return words_.get( id);
+    }
+
+  /**
+   * Returns the id of the given word. Returns -1 if the word is not in this dictionary.
+   */
+  public int getId( String word)
+    {
+    int id =
+      isPackable( word)
+      ? Arrays.binarySearch( packed_, pack( word))
+      : -1;
+
+    return Math.max( -1, id);
+    }
+
+  /**
+   * Returns the packed form of the word with the given id.
+   */
+  public int getPacked( int id)
+    {
+    return packed_[ id];
+    }
+
+  /**
+   * Returns the packed form of all words, in id order.
+   */
+  public int[] getPacked()
+    {
+    return Arrays.copyOf( packed_, packed_.length);
+    }
+
+  /**
+   * Returns the mask of the letters contained in the word with the given id. The bit for each letter
+   * is <CODE>1 &lt;&lt; letterCode</CODE>.
+   */
+  public int getLetterMask( int id)
+    {
+    return letterMasks_[ id];
+    }
+
+  /**
+   * Returns the packed form of all words, in id order. The array returned must not be modified.
+   */
+  int[] packedWords()
+    {
+    return packed_;
+    }
+
+  /**
+   * Returns the letter masks for all words, in id order. The array returned must not be modified.
+   */
+  int[] letterMasks()
+    {
+    return letterMasks_;
+    }
+
+  /**
+   * Returns the number of times the given letter code occurs in the word with the given id.
+   */
+  public int getLetterCount( int id, int letter)
+    {
+    return letterCounts_[ id * LETTERS + letter];
+    }
+
+  /**
+   * Returns the packed form of the given word.
+   */
+  public static int pack( String word)
+    {
+    if( !isPackable( word))
+      {
+      throw new IllegalArgumentException( String.format( "'%s' is not a 5-letter word using only A-Z", word));
+      }
+
+    int packed = 0;
+    for( int i = 0; i < 5; i++)
+      {
+      packed = (packed << LETTER_BITS) | letterCode( word.charAt(i));
+      }
+
+    return packed;
+    }
+
+  /**
+   * Returns the word for the given packed form.
+   */
+  public static String unpack( int packed)
+    {
+    char[] word = new char[5];
+    for( int i = 0; i < 5; i++)
+      {
+      word[i] = (char) ('A' + letterAt( packed, i));
+      }
+
+    return new String( word);
+    }
+
+  /**
+   * Returns the code of the letter at the given position of the given packed word.
+   */
+  public static int letterAt( int packed, int position)
+    {
+    return (packed >>> (LETTER_BITS * (4 - position))) & LETTER_MASK;
+    }
+
+  /**
+   * Returns the mask of the letters contained in the given packed word.
+   */
+  public static int letterMask( int packed)
+    {
+    int mask = 0;
+    for( int i = 0; i < 5; i++)
+      {
+      mask |= 1 << letterAt( packed, i);
+      }
+
+    return mask;
+    }
+
+  /**
+   * Returns if the given value is a valid packed word.
+   */
+  private static boolean isPacked( int packed)
+    {
+    boolean valid = (packed >>> (5 * LETTER_BITS)) == 0;
+    for( int i = 0; valid && i < 5; i++)
+      {
+      valid = letterAt( packed, i) < LETTERS;
+      }
+
+    return valid;
+    }
+
+  /**
+   * Returns if the given word can be packed.
+   */
+  public static boolean isPackable( String word)
+    {
+    boolean packable = word != null && word.length() == 5;
+    for( int i = 0; packable && i < 5; i++)
+      {
+      packable = letterCode( word.charAt(i)) >= 0;
+      }
+
+    return packable;
+    }
+
+  /**
+   * Returns the code for the given letter. Returns -1 if this is not a letter A-Z (ignoring case).
+   */
+  private static int letterCode( char letter)
+    {
+    return
+      letter >= 'A' && letter <= 'Z'?
+      letter - 'A' :
+
+      letter >= 'a' && letter <= 'z'?
+      letter - 'a' :
+
+      -1;
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( size())
+      .append( ']')
+      .toString();
+    }
+
+  private final List<String> words_;
+  private final int[] packed_;
+  private final int[] letterMasks_;
+  private final byte[] letterCounts_;
+
+  /**
+   * The number of distinct letter codes.
+   */
+  public static final int LETTERS = 26;
+
+  private static final int LETTER_BITS = 5;
+  private static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+  }
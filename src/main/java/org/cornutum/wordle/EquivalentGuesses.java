@@ -0,0 +1,346 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.Arrays;
+
+/**
+ * Groups guesses into classes of equivalent guesses for a given set of candidate targets.
+ * <P/>
+ * Two guesses are equivalent if they partition the candidates into the same groups and find the same candidates. Such guesses
+ * have the same statistics and lead to the same decisions, so only one representative from each class needs to be scored.
+ * <P/>
+ * To identify the partition for a guess, its row of pattern codes over the candidates is relabeled canonically: the all-green
+ * pattern keeps label 0, and every other pattern is labeled in order of its first occurrence. Guesses are grouped by a hash of
+ * this canonical row. Because different rows can have the same hash, a guess joins a class only after its row is verified
+ * to match the row of the class representative.
+ */
+public class EquivalentGuesses
+  {
+  /**
+   * Creates a new EquivalentGuesses instance for the given candidate target ids.
+   */
+  public EquivalentGuesses( PatternMatrix patterns, int[] candidates)
+    {
+    patterns_ = patterns;
+    candidates_ = candidates;
+
+    members_ = new int[ INITIAL_CAPACITY];
+    nextMembers_ = new int[ INITIAL_CAPACITY];
+    firstMembers_ = new int[ INITIAL_CAPACITY];
+    lastMembers_ = new int[ INITIAL_CAPACITY];
+    hashes_ = new long[ INITIAL_CAPACITY];
+    table_ = new int[ 2 * INITIAL_CAPACITY];
+    }
+
+  /**
+   * Adds the given guess and returns the id of the representative of its class. If no equivalent guess was already added,
+   * returns the given guess, which becomes the representative of a new class.
+   */
+  public int add( int guess)
+    {
+    return add( guess, hashOf( guess));
+    }
+
+  /**
+   * Adds the given guess, using the given {@link #hashOf hash} of its canonical row, and returns the id of the representative
+   * of its class. If no equivalent guess was already added, returns the given guess, which becomes the representative of a
+   * new class.
+   */
+  public int add( int guess, long hash)
+    {
+    if( added_ == members_.length)
+      {
+      members_ = Arrays.copyOf( members_, 2 * added_);
+      nextMembers_ = Arrays.copyOf( nextMembers_, 2 * added_);
+      }
+    int member = added_++;
+    members_[ member] = guess;
+
+    int mask = table_.length - 1;
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    for( int entry; (entry = table_[ slot]) != 0; slot = (slot + 1) & mask)
+      {
+      int c = entry - 1;
+      if( hashes_[c] == hash && isEquivalent( getRepresentative( c), guess))
+        {
+        nextMembers_[ lastMembers_[c]] = member;
+        lastMembers_[c] = member;
+        return getRepresentative( c);
+        }
+      }
+
+    if( classes_ == firstMembers_.length)
+      {
+      grow();
+      }
+    firstMembers_[ classes_] = member;
+    lastMembers_[ classes_] = member;
+    hashes_[ classes_] = hash;
+    insert( classes_++);
+
+    return guess;
+    }
+
+  /**
+   * Returns the number of classes of equivalent guesses.
+   */
+  public int getClassCount()
+    {
+    return classes_;
+    }
+
+  /**
+   * Returns the representative of the given class: the first guess added to this class. Classes are numbered in the
+   * order their representatives were added.
+   */
+  public int getRepresentative( int c)
+    {
+    return members_[ firstMembers_[c]];
+    }
+
+  /**
+   * Returns the members of the given class, in the order added, starting with its representative.
+   */
+  public int[] getMembers( int c)
+    {
+    int count = 1;
+    for( int member = firstMembers_[c]; member != lastMembers_[c]; member = nextMembers_[ member])
+      {
+      count++;
+      }
+
+    int[] members = new int[ count];
+    for( int i = 0, member = firstMembers_[c]; i < count; i++, member = nextMembers_[ member])
+      {
+      members[i] = members_[ member];
+      }
+
+    return members;
+    }
+
+  /**
+   * Returns the hash of the canonical row for the given guess. This method does not change the classes of guesses added,
+   * but it uses the same working storage as {@link #add}, so it must not be called concurrently with any other method.
+   */
+  public long hashOf( int guess)
+    {
+    return hashOf( guess, null);
+    }
+
+  /**
+   * Returns the hash of the canonical row for the given guess. If <CODE>statistics</CODE> is non-null, the pattern for
+   * each candidate is also added to these groups, so the statistics for this guess are counted in the same pass over
+   * its row. Like {@link #hashOf(int)}, this method must not be called concurrently with any other method.
+   */
+  public long hashOf( int guess, WordPatternGroups statistics)
+    {
+    return hashOf( patterns_, candidates_, guess, labels_, nextStamp(), statistics);
+    }
+
+  /**
+   * Returns the hash of the canonical row for the given guess over the given candidates. If <CODE>statistics</CODE>
+   * is non-null, the pattern for each candidate is also added to these groups.
+   * <P/>
+   * Each label is tagged with the given stamp, so any label with a different stamp is treated as unassigned, without
+   * clearing it first. The hash is a sum of terms that each weight a label by a pseudo-random value for its position,
+   * so no term depends on the terms before it.
+   */
+  private static long hashOf( PatternMatrix patterns, int[] candidates, int guess, int[] labels, int stamp, WordPatternGroups statistics)
+    {
+    long[] weights = weights( candidates.length);
+    long hash = 0;
+    int nextLabel = 1;
+    for( int i = 0; i < candidates.length; i++)
+      {
+      int code = patterns.getCode( guess, candidates[i]);
+      int label = labels[ code];
+      if( (label & ~LABEL_MASK) != stamp)
+        {
+        label = labels[ code] = stamp | (code == 0? 0 : nextLabel++);
+        }
+      hash += ((label & LABEL_MASK) + 1) * weights[i];
+
+      if( statistics != null)
+        {
+        statistics.addPattern( code, candidates[i]);
+        }
+      }
+
+    return hash;
+    }
+
+  /**
+   * Returns the position weights used to hash rows of at least the given length.
+   */
+  private static long[] weights( int length)
+    {
+    long[] weights = weights_;
+    return
+      length <= weights.length
+      ? weights
+      : weightsTable( length);
+    }
+
+  /**
+   * Returns the position weights used to hash rows of at least the given length, extending the shared table of weights if necessary.
+   */
+  private static synchronized long[] weightsTable( int length)
+    {
+    if( length > weights_.length)
+      {
+      long[] weights = Arrays.copyOf( weights_, Math.max( length, 2 * weights_.length));
+      for( int i = weights_.length; i < weights.length; i++)
+        {
+        // Mix each position using the SplitMix64 finalizer.
+        long z = (i + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        weights[i] = z ^ (z >>> 31);
+        }
+      weights_ = weights;
+      }
+
+    return weights_;
+    }
+
+  /**
+   * Returns if the given guesses have the same canonical row.
+   */
+  public boolean isEquivalent( int guess, int other)
+    {
+    // Map the codes of each guess to the codes of the other, tagging each mapping with a new stamp.
+    int stamp = nextStamp();
+    int[] forward = forward_;
+    int[] backward = backward_;
+
+    boolean equivalent = true;
+    for( int i = 0; equivalent && i < candidates_.length; i++)
+      {
+      int code = patterns_.getCode( guess, candidates_[i]);
+      int otherCode = patterns_.getCode( other, candidates_[i]);
+      boolean mapped = (forward[ code] & ~LABEL_MASK) == stamp;
+      boolean otherMapped = (backward[ otherCode] & ~LABEL_MASK) == stamp;
+      if( !mapped && !otherMapped)
+        {
+        forward[ code] = stamp | otherCode;
+        backward[ otherCode] = stamp | code;
+        }
+      equivalent =
+        mapped == otherMapped
+        && forward[ code] == (stamp | otherCode)
+        && backward[ otherCode] == (stamp | code)
+        && (code == 0) == (otherCode == 0);
+      }
+
+    return equivalent;
+    }
+
+  /**
+   * Returns a new stamp for tagging working storage. Any value tagged with an earlier stamp is treated as unassigned.
+   */
+  private int nextStamp()
+    {
+    if( ++stamp_ > MAX_STAMP)
+      {
+      Arrays.fill( labels_, 0);
+      Arrays.fill( forward_, 0);
+      Arrays.fill( backward_, 0);
+      stamp_ = 1;
+      }
+
+    return stamp_ << LABEL_BITS;
+    }
+
+  /**
+   * Doubles the capacity for classes.
+   */
+  private void grow()
+    {
+    int capacity = 2 * firstMembers_.length;
+    firstMembers_ = Arrays.copyOf( firstMembers_, capacity);
+    lastMembers_ = Arrays.copyOf( lastMembers_, capacity);
+    hashes_ = Arrays.copyOf( hashes_, capacity);
+
+    table_ = new int[ 2 * capacity];
+    for( int c = 0; c < classes_; c++)
+      {
+      insert( c);
+      }
+    }
+
+  /**
+   * Adds the given class to the hash table.
+   */
+  private void insert( int c)
+    {
+    int mask = table_.length - 1;
+    long hash = hashes_[c];
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    while( table_[ slot] != 0)
+      {
+      slot = (slot + 1) & mask;
+      }
+    table_[ slot] = c + 1;
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( candidates_.length)
+      .append( ',')
+      .append( getClassCount())
+      .append( ']')
+      .toString();
+    }
+
+  private final PatternMatrix patterns_;
+  private final int[] candidates_;
+
+  /**
+   * Working storage, tagged with the stamp for each use.
+   */
+  private final int[] labels_ = new int[ WordPattern.CODES];
+  private final int[] forward_ = new int[ WordPattern.CODES];
+  private final int[] backward_ = new int[ WordPattern.CODES];
+  private int stamp_;
+
+  /**
+   * The guesses added, in the order added.
+   */
+  private int[] members_;
+
+  /**
+   * For each guess added, the index of the next member of its class.
+   */
+  private int[] nextMembers_;
+  private int added_;
+
+  /**
+   * For each class, the indices of its first and last members and the hash of its canonical row.
+   */
+  private int[] firstMembers_;
+  private int[] lastMembers_;
+  private long[] hashes_;
+  private int classes_;
+
+  /**
+   * An open-addressing hash table of classes, identified by class number plus 1.
+   */
+  private int[] table_;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final int LABEL_BITS = 8;
+  private static final int LABEL_MASK = (1 << LABEL_BITS) - 1;
+  private static final int MAX_STAMP = (1 << (31 - LABEL_BITS)) - 1;
+
+  private static volatile long[] weights_ = new long[0];
+  }
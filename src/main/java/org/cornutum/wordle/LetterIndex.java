@@ -0,0 +1,201 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import static org.cornutum.wordle.Dictionary.LETTERS;
+
+import java.util.List;
+
+/**
+ * Indexes a list of words by the letters they contain.
+ * <P/>
+ * For each letter and position, the index contains the {@link WordSet set} of words with this letter in this position.
+ * For each letter and count, the index contains the set of words that contain this letter at least this many times.
+ * Letters are identified by their codes in the range [0,26). The words that satisfy a set of {@link Constraints}, or
+ * that give a specific {@link WordPattern} for a guess, are found by combining these sets, without comparing any word
+ * to any guess.
+ */
+public class LetterIndex
+  {
+  /**
+   * Creates a new LetterIndex instance. Each word must contain exactly 5 letters A-Z, ignoring case.
+   */
+  public LetterIndex( List<String> words)
+    {
+    words_ = words;
+    all_ = new WordSet( words);
+    letterAt_ = new WordSet[ LETTERS * 5];
+    minCount_ = new WordSet[ LETTERS * 5];
+    for( int i = 0; i < letterAt_.length; i++)
+      {
+      letterAt_[i] = new WordSet( words);
+      minCount_[i] = new WordSet( words);
+      }
+
+    int[] counts = new int[ LETTERS];
+    for( int id = 0; id < words.size(); id++)
+      {
+      all_.add( id);
+      int packed = Dictionary.pack( words.get( id));
+      for( int i = 0; i < 5; i++)
+        {
+        int letter = Dictionary.letterAt( packed, i);
+        letterAt_[ letter * 5 + i].add( id);
+        minCount_[ letter * 5 + counts[ letter]++].add( id);
+        }
+      for( int i = 0; i < 5; i++)
+        {
+        counts[ Dictionary.letterAt( packed, i)] = 0;
+        }
+      }
+    }
+
+  /**
+   * Returns the list of indexed words.
+   */
+  public List<String> getWords()
+    {
+    return words_;
+    }
+
+  /**
+   * Returns a new set containing all indexed words.
+   */
+  public WordSet all()
+    {
+    return all_.and( all_);
+    }
+
+  /**
+   * Returns a new set containing the words with the given letter code at the given position.
+   */
+  public WordSet withLetterAt( int letter, int position)
+    {
+    return all_.and( letterAt_[ letter * 5 + position]);
+    }
+
+  /**
+   * Returns a new set containing the words that contain the given letter code at least the given number of times.
+   */
+  public WordSet withMinCount( int letter, int count)
+    {
+    return
+      count <= 0?
+      all() :
+
+      count > 5?
+      new WordSet( words_) :
+
+      all_.and( minCount_[ letter * 5 + count - 1]);
+    }
+
+  /**
+   * Returns a new set containing the words that satisfy the given constraints.
+   */
+  public WordSet matching( Constraints constraints)
+    {
+    WordSet matching = all();
+
+    for( int i = 0; i < 5; i++)
+      {
+      int letter = constraints.getGreen( i);
+      if( letter >= 0)
+        {
+        matching.retain( letterAt_[ letter * 5 + i]);
+        }
+      }
+
+    for( int letter = 0; letter < LETTERS; letter++)
+      {
+      int count = constraints.getMinCount( letter);
+      if( count > 0)
+        {
+        matching.retain( minCount_[ letter * 5 + count - 1]);
+        }
+      if( (constraints.getExcluded() & (1 << letter)) != 0)
+        {
+        matching.discard( minCount_[ letter * 5]);
+        }
+      }
+
+    return matching;
+    }
+
+  /**
+   * Returns a new set containing the words that give the given pattern when compared to the given guess.
+   * <P/>
+   * Each green letter must occur in the same position, and each other guess letter must not. A guess letter must
+   * occur at least as many times as its green and yellow clues. If it also has a white clue, it must occur exactly
+   * this many times.
+   */
+  public WordSet matching( String guess, WordPattern pattern)
+    {
+    if( !pattern.isPossibleFor( guess))
+      {
+      return new WordSet( words_);
+      }
+
+    int packed = Dictionary.pack( guess);
+    int[] found = new int[ LETTERS];
+    int white = 0;
+    WordSet matching = all();
+    for( int i = 0; i < 5; i++)
+      {
+      int letter = Dictionary.letterAt( packed, i);
+      Clue clue = pattern.getClue( i);
+      if( clue == Clue.GREEN)
+        {
+        found[ letter]++;
+        matching.retain( letterAt_[ letter * 5 + i]);
+        }
+      else
+        {
+        matching.discard( letterAt_[ letter * 5 + i]);
+        if( clue == Clue.YELLOW)
+          {
+          found[ letter]++;
+          }
+        else
+          {
+          white |= 1 << letter;
+          }
+        }
+      }
+
+    for( int letters = Dictionary.letterMask( packed); letters != 0; letters &= letters - 1)
+      {
+      int letter = Integer.numberOfTrailingZeros( letters);
+      int count = found[ letter];
+      if( count > 0)
+        {
+        matching.retain( minCount_[ letter * 5 + count - 1]);
+        }
+      if( (white & (1 << letter)) != 0)
+        {
+        matching.discard( minCount_[ letter * 5 + count]);
+        }
+      }
+
+    return matching;
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( all_.size())
+      .append( ']')
+      .toString();
+    }
+
+  private final List<String> words_;
+  private final WordSet all_;
+  private final WordSet[] letterAt_;
+  private final WordSet[] minCount_;
+  }
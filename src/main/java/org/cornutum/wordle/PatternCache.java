@@ -0,0 +1,249 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores {@link PatternMatrix} codes in a directory of memory-mapped cache files.
+ * <P/>
+ * Each cache file is identified by the fingerprint of its guess and target word lists. A cache file begins with a header
+ * containing a magic number, the format version, the number of guesses and targets, and the word list fingerprint, followed
+ * by the pattern codes in row-major order. The pattern codes are used directly from the mapped file, without
+ * copying them to the heap.
+ */
+public class PatternCache
+  {
+  /**
+   * Creates a new PatternCache instance.
+   */
+  public PatternCache( File cacheDir)
+    {
+    cacheDir_ = cacheDir;
+    }
+
+  /**
+   * Returns the directory containing cache files.
+   */
+  public File getCacheDir()
+    {
+    return cacheDir_;
+    }
+
+  /**
+   * Returns the pattern matrix that compares every pair of words in the given list. If a valid cache file for this word list
+   * already exists, returns the pattern codes mapped from this file. Otherwise, computes all pattern
+   * codes into a new cache file.
+   */
+  public PatternMatrix getPatternMatrix( List<String> words) throws IOException
+    {
+    return getPatternMatrix( words, words, false);
+    }
+
+  /**
+   * Returns the pattern matrix that compares every guess to every target. If a valid cache file for these word lists
+   * already exists, returns the pattern codes mapped from this file. Otherwise, computes all pattern
+   * codes into a new cache file. If <CODE>parallel</CODE> is true, the patterns for different guesses
+   * are computed concurrently.
+   */
+  public PatternMatrix getPatternMatrix( List<String> guesses, List<String> targets, boolean parallel) throws IOException
+    {
+    byte[] fingerprint = fingerprint( guesses, targets);
+    File cacheFile = getCacheFile( fingerprint);
+
+    ByteBuffer codes = readCodes( cacheFile, guesses.size(), targets.size(), fingerprint);
+    if( codes == null)
+      {
+      codes = writeCodes( cacheFile, guesses, targets, fingerprint, parallel);
+      }
+
+    return new PatternMatrix( guesses, targets, codes, parallel);
+    }
+
+  /**
+   * Returns the cache file for the word list with the given fingerprint.
+   */
+  public File getCacheFile( byte[] fingerprint)
+    {
+    StringBuilder name = new StringBuilder( "patterns-");
+    for( int i = 0; i < 8; i++)
+      {
+      name.append( String.format( "%02x", fingerprint[i]));
+      }
+    name.append( ".wpm");
+
+    return new File( getCacheDir(), name.toString());
+    }
+
+  /**
+   * Returns the fingerprint for a list of words compared to each other.
+   */
+  public static byte[] fingerprint( List<String> words)
+    {
+    return fingerprint( words, words);
+    }
+
+  /**
+   * Returns the fingerprint for the given guess and target word lists.
+   */
+  public static byte[] fingerprint( List<String> guesses, List<String> targets)
+    {
+    try
+      {
+      MessageDigest digest = MessageDigest.getInstance( "SHA-256");
+      for( List<String> words : Arrays.asList( guesses, targets))
+        {
+        for( String word : words)
+          {
+          digest.update( word.getBytes( StandardCharsets.UTF_8));
+          digest.update( (byte) '\n');
+          }
+        digest.update( (byte) '\n');
+        }
+      return digest.digest();
+      }
+    catch( NoSuchAlgorithmException e)
+      {
+      throw new IllegalStateException( "Can't compute word list fingerprint", e);
+      }
+    }
+
+  /**
+   * Returns the pattern codes mapped from the given cache file. Returns null if this file
+   * does not contain valid codes for the word lists with the given sizes and fingerprint.
+   */
+  private ByteBuffer readCodes( File cacheFile, int guessCount, int targetCount, byte[] fingerprint) throws IOException
+    {
+    ByteBuffer codes = null;
+    if( cacheFile.exists())
+      {
+      try( RandomAccessFile file = new RandomAccessFile( cacheFile, "r"))
+        {
+        codes = readCodes( file.getChannel(), guessCount, targetCount, fingerprint);
+        }
+      }
+
+    return codes;
+    }
+
+  /**
+   * Returns the pattern codes mapped from the given cache file channel. Returns null if this file
+   * does not contain valid codes for the word lists with the given sizes and fingerprint.
+   */
+  private ByteBuffer readCodes( FileChannel channel, int guessCount, int targetCount, byte[] fingerprint) throws IOException
+    {
+    ByteBuffer codes = null;
+
+    long codesSize = (long) guessCount * targetCount;
+    if( channel.size() == HEADER_SIZE + codesSize)
+      {
+      ByteBuffer header = channel.map( FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+      if( header.getInt() == MAGIC
+          && header.getInt() == VERSION
+          && header.getInt() == guessCount
+          && header.getInt() == targetCount)
+        {
+        byte[] fileFingerprint = new byte[ FINGERPRINT_SIZE];
+        header.get( fileFingerprint);
+        if( Arrays.equals( fingerprint, fileFingerprint))
+          {
+          codes = channel.map( FileChannel.MapMode.READ_ONLY, HEADER_SIZE, codesSize);
+          }
+        }
+      }
+
+    return codes;
+    }
+
+  /**
+   * Computes the pattern codes for the given word lists into the given cache file. Returns the codes
+   * mapped from this file.
+   * <P/>
+   * The magic number is written last, after all codes have been stored, so that an incomplete cache file
+   * is never accepted as valid.
+   */
+  private ByteBuffer writeCodes( File cacheFile, List<String> guesses, List<String> targets, byte[] fingerprint, boolean parallel) throws IOException
+    {
+    int guessCount = guesses.size();
+    int targetCount = targets.size();
+    int codesSize = PatternMatrix.getCodesSize( guessCount, targetCount);
+
+    if( !(getCacheDir().isDirectory() || getCacheDir().mkdirs()))
+      {
+      throw new IOException( String.format( "Can't create cache directory=%s", getCacheDir()));
+      }
+
+    try( RandomAccessFile file = new RandomAccessFile( cacheFile, "rw"))
+      {
+      FileChannel channel = file.getChannel();
+      FileLock lock = channel.lock();
+      try
+        {
+        ByteBuffer codes = readCodes( channel, guessCount, targetCount, fingerprint);
+        if( codes == null)
+          {
+          file.setLength( 0);
+          file.setLength( HEADER_SIZE + codesSize);
+
+          MappedByteBuffer mapped = channel.map( FileChannel.MapMode.READ_WRITE, HEADER_SIZE, codesSize);
+          PatternMatrix.computeCodes( guesses, targets, mapped, parallel);
+          mapped.force();
+
+          ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE);
+          header.putInt( 0).putInt( VERSION).putInt( guessCount).putInt( targetCount).put( fingerprint);
+          ((Buffer) header).flip();
+          channel.write( header, 0);
+          channel.force( false);
+
+          ((Buffer) header).clear();
+          header.putInt( MAGIC);
+          ((Buffer) header).flip();
+          channel.write( header, 0);
+          channel.force( false);
+
+          codes = mapped.asReadOnlyBuffer();
+          }
+
+        return codes;
+        }
+      finally
+        {
+        lock.release();
+        }
+      }
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( getCacheDir())
+      .append( ']')
+      .toString();
+    }
+
+  private final File cacheDir_;
+
+  private static final int MAGIC = 0x57504d58;
+  private static final int VERSION = 2;
+  private static final int FINGERPRINT_SIZE = 32;
+  private static final int HEADER_SIZE = 16 + FINGERPRINT_SIZE;
+  }
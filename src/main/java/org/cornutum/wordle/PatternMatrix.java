@@ -0,0 +1,205 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import static java.util.Collections.emptyList;
+
+/**
+ * Defines the {@link WordPattern} codes for every guess word compared to every target word.
+ * Each word must contain exactly 5 letters A-Z, ignoring case, and is identified by its index in the guess list
+ * or the target list. Patterns for all guess/target pairs are computed once and stored in row-major order, one row
+ * for each guess. These codes can be stored either on the heap or in a memory-mapped {@link PatternCache} file.
+ */
+public class PatternMatrix
+  {
+  /**
+   * Creates a new PatternMatrix instance that compares every pair of words in the given list.
+   */
+  public PatternMatrix( List<String> words)
+    {
+    this( words, false);
+    }
+
+  /**
+   * Creates a new PatternMatrix instance that compares every pair of words in the given list. If <CODE>parallel</CODE>
+   * is true, the patterns for different guesses are computed concurrently.
+   */
+  public PatternMatrix( List<String> words, boolean parallel)
+    {
+    this( words, words, parallel);
+    }
+
+  /**
+   * Creates a new PatternMatrix instance that compares every guess to every target.
+   */
+  public PatternMatrix( List<String> guesses, List<String> targets)
+    {
+    this( guesses, targets, false);
+    }
+
+  /**
+   * Creates a new PatternMatrix instance that compares every guess to every target. If <CODE>parallel</CODE>
+   * is true, the patterns for different guesses are computed concurrently.
+   */
+  public PatternMatrix( List<String> guesses, List<String> targets, boolean parallel)
+    {
+    this( guesses, targets, null, parallel);
+    }
+
+  /**
+   * Creates a new PatternMatrix instance using the given pattern codes. If <CODE>codes</CODE> is null,
+   * computes all pattern codes into a new heap buffer.
+   */
+  PatternMatrix( List<String> guesses, List<String> targets, ByteBuffer codes, boolean parallel)
+    {
+    guesses_ = WordList.of( Optional.ofNullable( guesses).orElse( emptyList()));
+    targets_ = WordList.of( Optional.ofNullable( targets).orElse( emptyList()));
+
+    guessIds_ = new HashMap<String,Integer>();
+    for( int id = guesses_.size() - 1; id >= 0; id--)
+      {
+      guessIds_.put( guesses_.get( id), id);
+      }
+
+    codes_ =
+      codes == null
+      ? computeCodes( guesses_, targets_, ByteBuffer.allocate( getCodesSize( guesses_.size(), targets_.size())), parallel)
+      : codes;
+
+    long codesSize = (long) guesses_.size() * targets_.size();
+    if( codes_.capacity() != codesSize)
+      {
+      throw new IllegalArgumentException( String.format( "Expected %s pattern codes, found %s", codesSize, codes_.capacity()));
+      }
+    }
+
+  /**
+   * Returns the number of pattern codes for a matrix of the given size.
+   */
+  static int getCodesSize( int guessCount, int targetCount)
+    {
+    if( (long) guessCount * targetCount > Integer.MAX_VALUE)
+      {
+      throw new IllegalArgumentException( String.format( "Can't compare %s guesses to %s targets", guessCount, targetCount));
+      }
+
+    return guessCount * targetCount;
+    }
+
+  /**
+   * Stores the pattern codes for all guess/target pairs into the given buffer. If <CODE>parallel</CODE>
+   * is true, the rows for different guesses are computed concurrently. Each row is computed by a batch comparison
+   * of a {@link Dictionary#pack packed} guess to all packed targets, so all words must use only the letters A-Z.
+   */
+  static ByteBuffer computeCodes( List<String> guesses, List<String> targets, ByteBuffer codes, boolean parallel)
+    {
+    int targetCount = targets.size();
+    int[] packedTargets = packed( targets);
+    int[] packedGuesses = packed( guesses);
+    int[] targetMasks = IntStream.of( packedTargets).map( Dictionary::letterMask).toArray();
+    IntStream guessIds = IntStream.range( 0, guesses.size());
+    (parallel? guessIds.parallel() : guessIds)
+      .forEach( guess -> {
+        byte[] row = new byte[ targetCount];
+        WordPattern.patternCodes( packedGuesses[ guess], packedTargets, targetMasks, row);
+        ByteBuffer rowCodes = codes.duplicate();
+        ((Buffer) rowCodes).position( guess * targetCount);
+        rowCodes.put( row);
+        });
+
+    return codes;
+    }
+
+  /**
+   * Returns the packed form of the given words. Throws an exception if any word can't be packed.
+   */
+  private static int[] packed( List<String> words)
+    {
+    return words.stream().mapToInt( Dictionary::pack).toArray();
+    }
+
+  /**
+   * Returns the guess words compared by this matrix.
+   */
+  public List<String> getGuesses()
+    {
+    return guesses_;
+    }
+
+  /**
+   * Returns the target words compared by this matrix.
+   */
+  public List<String> getTargets()
+    {
+    return targets_;
+    }
+
+  /**
+   * Returns the number of guess words compared by this matrix.
+   */
+  public int getGuessCount()
+    {
+    return guesses_.size();
+    }
+
+  /**
+   * Returns the number of target words compared by this matrix.
+   */
+  public int getTargetCount()
+    {
+    return targets_.size();
+    }
+
+  /**
+   * Returns the id of the given guess word, or -1 if this word is not in the guess list.
+   */
+  public int getGuessId( String guess)
+    {
+    return Optional.ofNullable( guessIds_.get( guess)).orElse( -1);
+    }
+
+  /**
+   * Returns the pattern code for the given guess compared to the given target.
+   */
+  public int getCode( int guess, int target)
+    {
+    return codes_.get( guess * getTargetCount() + target) & 0xff;
+    }
+
+  /**
+   * Returns the pattern for the given guess compared to the given target.
+   */
+  public WordPattern getPattern( int guess, int target)
+    {
+    return WordPattern.valueOf( getCode( guess, target));
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( getGuessCount())
+      .append( 'x')
+      .append( getTargetCount())
+      .append( ']')
+      .toString();
+    }
+
+  private final List<String> guesses_;
+  private final List<String> targets_;
+  private final Map<String,Integer> guessIds_;
+  private final ByteBuffer codes_;
+  }
@@ -0,0 +1,155 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Returns {@link WordPatternGroups} in ranked order, one at a time, without ranking all of them first.
+ * <P/>
+ * Each element is identified by its position in the original sequence of elements and is ranked by a precomputed
+ * primitive key. Element positions are kept in a binary heap, which is built in linear time. Each call to {@link #next}
+ * removes the best remaining position from the heap and only then creates the pattern groups for this element.
+ * <P/>
+ * Elements are ranked by increasing key value. If a guess function is given, elements with the same key value are
+ * then ranked alphabetically by guess word. Any remaining ties are ranked by increasing position, so the results are
+ * the same as {@link Rankings#rankedByKey Rankings.rankedByKey()}.
+ */
+public class RankedIterator implements Iterator<WordPatternGroups>
+  {
+  /**
+   * Creates a new RankedIterator instance for elements with the given keys. If <CODE>guessOf</CODE> is non-null, it
+   * returns the guess word for each element position. The pattern groups at each position are returned by <CODE>elementOf</CODE>,
+   * which can be null if only {@link #nextPosition} is called.
+   */
+  public RankedIterator( long[] keys, IntFunction<String> guessOf, IntFunction<WordPatternGroups> elementOf)
+    {
+    keys_ = keys;
+    guessOf_ = guessOf;
+    elementOf_ = elementOf;
+
+    size_ = keys.length;
+    heap_ = new int[ size_];
+    for( int i = 0; i < size_; i++)
+      {
+      heap_[i] = i;
+      }
+    for( int i = size_ / 2 - 1; i >= 0; i--)
+      {
+      siftDown( i);
+      }
+    }
+
+  /**
+   * Returns the total number of elements ranked.
+   */
+  public int getCount()
+    {
+    return keys_.length;
+    }
+
+  /**
+   * Returns the number of elements not yet returned.
+   */
+  public int getRemaining()
+    {
+    return size_;
+    }
+
+  /**
+   * Returns if any element has not yet been returned.
+   */
+  public boolean hasNext()
+    {
+    return size_ > 0;
+    }
+
+  /**
+   * Returns the best element not yet returned.
+   */
+  public WordPatternGroups next()
+    {
+    return elementOf_.apply( nextPosition());
+    }
+
+  /**
+   * Returns the position of the best element not yet returned, without creating its pattern groups.
+   */
+  public int nextPosition()
+    {
+    if( !hasNext())
+      {
+      throw new NoSuchElementException();
+      }
+
+    int best = heap_[0];
+    heap_[0] = heap_[ --size_];
+    siftDown( 0);
+
+    return best;
+    }
+
+  /**
+   * Moves the element at the given heap index down until it is no worse than its children.
+   */
+  private void siftDown( int index)
+    {
+    int element = heap_[ index];
+    for( int child; (child = 2 * index + 1) < size_; index = child)
+      {
+      if( child + 1 < size_ && compare( heap_[ child + 1], heap_[ child]) < 0)
+        {
+        child++;
+        }
+      if( compare( heap_[ child], element) >= 0)
+        {
+        break;
+        }
+      heap_[ index] = heap_[ child];
+      }
+    heap_[ index] = element;
+    }
+
+  /**
+   * Compares the ranks of the elements at the given positions.
+   */
+  private int compare( int a, int b)
+    {
+    int result = Long.compare( keys_[a], keys_[b]);
+    if( result == 0 && guessOf_ != null)
+      {
+      result = guessOf_.apply( a).compareTo( guessOf_.apply( b));
+      }
+    if( result == 0)
+      {
+      result = Integer.compare( a, b);
+      }
+
+    return result;
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( getRemaining())
+      .append( '/')
+      .append( getCount())
+      .append( ']')
+      .toString();
+    }
+
+  private final long[] keys_;
+  private final IntFunction<String> guessOf_;
+  private final IntFunction<WordPatternGroups> elementOf_;
+  private final int[] heap_;
+  private int size_;
+  }
@@ -0,0 +1,121 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Defines a primitive key that ranks {@link WordPatternGroups} in the same order as a given comparator.
+ * <P/>
+ * Pattern groups are ranked by increasing key value. If this key is {@link #isByGuess ranked by guess},
+ * pattern groups with the same key value are then ranked alphabetically by guess word.
+ */
+public class RankingKey
+  {
+  /**
+   * Creates a new RankingKey instance.
+   */
+  public RankingKey( ToLongFunction<WordPatternGroups> key, boolean byGuess)
+    {
+    key_ = key;
+    byGuess_ = byGuess;
+    }
+
+  /**
+   * Returns the key value for the given pattern groups. Key values are never negative.
+   */
+  public long keyOf( WordPatternGroups patternGroups)
+    {
+    return key_.applyAsLong( patternGroups);
+    }
+
+  /**
+   * Returns if pattern groups with the same key value are ranked alphabetically by guess word.
+   */
+  public boolean isByGuess()
+    {
+    return byGuess_;
+    }
+
+  /**
+   * Returns a key value that ranks by decreasing number of groups.
+   */
+  public static long bySizeKey( WordPatternGroups patternGroups)
+    {
+    return WordPattern.CODES - patternGroups.getSize();
+    }
+
+  /**
+   * Returns a key value that ranks by increasing variance of group size.
+   */
+  public static long byVarianceKey( WordPatternGroups patternGroups)
+    {
+    // For non-negative float values, bit patterns have the same order as the values.
+    return Float.floatToIntBits( patternGroups.getVariance() + 0.0f);
+    }
+
+  /**
+   * Returns a key value that ranks by increasing maximum group size.
+   */
+  public static long byMaxGroupKey( WordPatternGroups patternGroups)
+    {
+    return patternGroups.getMax();
+    }
+
+  /**
+   * Returns a key value that ranks by decreasing entropy.
+   */
+  public static long byEntropyKey( WordPatternGroups patternGroups)
+    {
+    // For non-negative double values, bit patterns have the same order as the values.
+    return Long.MAX_VALUE - Double.doubleToLongBits( patternGroups.getEntropy() + 0.0);
+    }
+
+  /**
+   * Returns a key value that ranks by increasing expected number of words remaining.
+   */
+  public static long byExpectedSizeKey( WordPatternGroups patternGroups)
+    {
+    return Double.doubleToLongBits( patternGroups.getExpectedSize() + 0.0);
+    }
+
+  /**
+   * Returns a key value that ranks by decreasing number of groups, then by increasing variance of group size,
+   * then by increasing maximum group size.
+   */
+  public static long byCombinedKey( WordPatternGroups patternGroups)
+    {
+    long max = byMaxGroupKey( patternGroups);
+    if( max > MAX_COMBINED_GROUP)
+      {
+      throw new IllegalArgumentException( String.format( "Can't rank a group of %s words by combined key", max));
+      }
+
+    return
+      (bySizeKey( patternGroups) << 55)
+      | (byVarianceKey( patternGroups) << 24)
+      | max;
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( key_)
+      .append( ',')
+      .append( isByGuess())
+      .append( ']')
+      .toString();
+    }
+
+  private final ToLongFunction<WordPatternGroups> key_;
+  private final boolean byGuess_;
+
+  private static final long MAX_COMBINED_GROUP = (1L << 24) - 1;
+  }
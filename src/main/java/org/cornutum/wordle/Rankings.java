@@ -7,8 +7,15 @@
 
 package org.cornutum.wordle;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
 import static java.util.Collections.reverseOrder;
 import static java.util.Collections.sort;
 
@@ -33,13 +40,23 @@ public final class Rankings
   /**
    * Rank by increasing variance of group size.
    */
-  public static final Comparator<WordPatternGroups> byVariance = Comparator.comparing( wpg -> wpg.getVariance());
+  public static final Comparator<WordPatternGroups> byVariance = Comparator.comparingDouble( wpg -> wpg.getVariance());
 
   /**
    * Rank by increasing maximum group size.
    */
   public static final Comparator<WordPatternGroups> byMaxGroup = Comparator.comparing( wpg -> wpg.getMax());
 
+  /**
+   * Rank by decreasing entropy of the distribution of words among groups.
+   */
+  public static final Comparator<WordPatternGroups> byEntropy = reverseOrder( Comparator.comparingDouble( wpg -> wpg.getEntropy()));
+
+  /**
+   * Rank by increasing expected number of words remaining.
+   */
+  public static final Comparator<WordPatternGroups> byExpectedSize = Comparator.comparingDouble( wpg -> wpg.getExpectedSize());
+
   /**
    * Rank alphabetically by guess word.
    */
@@ -54,6 +71,23 @@ public final class Rankings
     .thenComparing( byMaxGroup)
     .thenComparing( byGuess);
 
+  /**
+   * Rank by decreasing entropy, then alphabetically by guess word.
+   */
+  public static final Comparator<WordPatternGroups> byEntropyThenGuess = byEntropy.thenComparing( byGuess);
+
+  /**
+   * Rank by increasing expected number of words remaining, then alphabetically by guess word.
+   */
+  public static final Comparator<WordPatternGroups> byExpectedSizeThenGuess = byExpectedSize.thenComparing( byGuess);
+
+  /**
+   * Returns the ranking with the given name: one of "combined", "entropy", or "expected".
+   */
+  public static Optional<Comparator<WordPatternGroups>> named( String name)
+    {
+    return Optional.ofNullable( namedRankings_.get( name));
+    }
 
   /**
    * Returns the given elements ranked by the given comparator.
@@ -63,4 +97,121 @@ public final class Rankings
     sort( elements, comparator);
     return elements;
     }
+
+  /**
+   * Returns the given pattern groups ranked by the given comparator. If a {@link RankingKey} is defined for this
+   * comparator, the key for each element is computed only once, and elements are ordered by a radix sort of these
+   * keys. Otherwise, returns the same result as {@link #ranked ranked()}.
+   */
+  public static List<WordPatternGroups> rankedByKey( List<WordPatternGroups> elements, Comparator<WordPatternGroups> comparator)
+    {
+    Optional<RankingKey> rankingKey = rankingKey( comparator);
+    if( !rankingKey.isPresent())
+      {
+      return ranked( elements, comparator);
+      }
+
+    int size = elements.size();
+    int[] order =
+      rankingKey.get().isByGuess()
+      ? IntStream.range( 0, size).boxed().sorted( Comparator.comparing( i -> elements.get(i).getGuess())).mapToInt( Integer::intValue).toArray()
+      : IntStream.range( 0, size).toArray();
+
+    long[] keys = new long[ size];
+    for( int i = 0; i < size; i++)
+      {
+      keys[i] = rankingKey.get().keyOf( elements.get(i));
+      }
+    
+    List<WordPatternGroups> ranked = new ArrayList<WordPatternGroups>( size);
+    for( int i : radixSorted( order, keys))
+      {
+      ranked.add( elements.get(i));
+      }
+    for( int i = 0; i < size; i++)
+      {
+      elements.set( i, ranked.get(i));
+      }
+
+    return elements;
+    }
+
+  /**
+   * Returns the {@link RankingKey} for the given comparator.
+   */
+  public static Optional<RankingKey> rankingKey( Comparator<WordPatternGroups> comparator)
+    {
+    return Optional.ofNullable( rankingKeys_.get( comparator));
+    }
+
+  /**
+   * Returns the given element indices, stably sorted by increasing key value, using a radix sort with 16-bit digits.
+   */
+  private static int[] radixSorted( int[] order, long[] keys)
+    {
+    int size = order.length;
+    int[] from = order;
+    int[] to = new int[ size];
+    int[] counts = new int[ 1 << 16];
+
+    for( int shift = 0; shift < 64; shift += 16)
+      {
+      Arrays.fill( counts, 0);
+      for( int i = 0; i < size; i++)
+        {
+        counts[ digit( keys[ from[i]], shift)]++;
+        }
+
+      // Skip any digit that is the same for all keys.
+      if( size > 0 && counts[ digit( keys[ from[0]], shift)] < size)
+        {
+        for( int d = 0, start = 0; d < counts.length; d++)
+          {
+          int count = counts[d];
+          counts[d] = start;
+          start += count;
+          }
+        for( int i = 0; i < size; i++)
+          {
+          to[ counts[ digit( keys[ from[i]], shift)]++] = from[i];
+          }
+
+        int[] sorted = to;
+        to = from;
+        from = sorted;
+        }
+      }
+
+    return from;
+    }
+
+  /**
+   * Returns the 16-bit digit of the given key at the given shift.
+   */
+  private static int digit( long key, int shift)
+    {
+    return (int) ((key >>> shift) & 0xffff);
+    }
+
+  private static final Map<Comparator<WordPatternGroups>,RankingKey> rankingKeys_ = new IdentityHashMap<Comparator<WordPatternGroups>,RankingKey>();
+  static
+    {
+    rankingKeys_.put( bySize, new RankingKey( RankingKey::bySizeKey, false));
+    rankingKeys_.put( byVariance, new RankingKey( RankingKey::byVarianceKey, false));
+    rankingKeys_.put( byMaxGroup, new RankingKey( RankingKey::byMaxGroupKey, false));
+    rankingKeys_.put( byEntropy, new RankingKey( RankingKey::byEntropyKey, false));
+    rankingKeys_.put( byExpectedSize, new RankingKey( RankingKey::byExpectedSizeKey, false));
+    rankingKeys_.put( byGuess, new RankingKey( wpg -> 0, true));
+    rankingKeys_.put( byCombined, new RankingKey( RankingKey::byCombinedKey, true));
+    rankingKeys_.put( byEntropyThenGuess, new RankingKey( RankingKey::byEntropyKey, true));
+    rankingKeys_.put( byExpectedSizeThenGuess, new RankingKey( RankingKey::byExpectedSizeKey, true));
+    }
+
+  private static final Map<String,Comparator<WordPatternGroups>> namedRankings_ = new LinkedHashMap<String,Comparator<WordPatternGroups>>();
+  static
+    {
+    namedRankings_.put( "combined", byCombined);
+    namedRankings_.put( "entropy", byEntropyThenGuess);
+    namedRankings_.put( "expected", byExpectedSizeThenGuess);
+    }
   }
@@ -0,0 +1,409 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.io.Flushable;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Writes the results for guess words in a given {@link Format}.
+ * <P/>
+ * All results are written to a single writer, which is flushed only when {@link #flush} is called. The groups for
+ * each guess are written in order of decreasing size. If only counts are written, only the number of words in each group
+ * is written, and the members of each group are never created. If equivalents are written, the results for each guess also
+ * list the {@link WordPatternGroups#getEquivalents other guesses} that give the same groups.
+ * <P/>
+ * Alternatively, {@link #writeStatistics} writes only the statistics for each guess, as a single record. A ResultWriter
+ * writes either full results or only statistics, but not both.
+ */
+public class ResultWriter implements Flushable
+  {
+  /**
+   * Defines the formats for writing results.
+   */
+  public enum Format
+    {
+    /**
+     * The results for each guess are written as a block of human-readable lines.
+     */
+    TEXT,
+
+    /**
+     * A comma-separated values line is written for each group, with a header line for the first result.
+     * Group members are separated by spaces.
+     */
+    CSV,
+
+    /**
+     * A JSON object is written on a single line for each guess. Groups are given by a nested object that maps each
+     * pattern to its members.
+     */
+    JSONL;
+
+    /**
+     * Returns the format with the given name, ignoring case.
+     */
+    public static Format named( String name)
+      {
+      return valueOf( name.toUpperCase( Locale.ROOT));
+      }
+    }
+
+  /**
+   * Creates a new ResultWriter instance.
+   */
+  public ResultWriter( Writer stream, Format format, boolean countsOnly)
+    {
+    this( stream, format, countsOnly, false);
+    }
+
+  /**
+   * Creates a new ResultWriter instance.
+   */
+  public ResultWriter( Writer stream, Format format, boolean countsOnly, boolean equivalents)
+    {
+    writer_ = stream instanceof PrintWriter? (PrintWriter) stream : new PrintWriter( stream);
+    format_ = format;
+    countsOnly_ = countsOnly;
+    equivalents_ = equivalents;
+    }
+
+  /**
+   * Returns the format used to write results.
+   */
+  public Format getFormat()
+    {
+    return format_;
+    }
+
+  /**
+   * Returns if only the number of words in each group is written.
+   */
+  public boolean isCountsOnly()
+    {
+    return countsOnly_;
+    }
+
+  /**
+   * Returns if the equivalent guesses for each result are written.
+   */
+  public boolean isEquivalents()
+    {
+    return equivalents_;
+    }
+
+  /**
+   * Writes the results for the given word pattern groups.
+   */
+  public void write( WordPatternGroups patternGroups)
+    {
+    List<WordPattern> patterns = patternGroups.getPatterns();
+    patterns.sort( groupOrder( patternGroups));
+    Map<WordPattern,Set<String>> groups = isCountsOnly()? null : patternGroups.getGroups();
+
+    switch( getFormat())
+      {
+      case CSV:
+        {
+        writeCsv( patternGroups, patterns, groups);
+        break;
+        }
+      case JSONL:
+        {
+        writeJson( patternGroups, patterns, groups);
+        break;
+        }
+      default:
+        {
+        writeText( patternGroups, patterns, groups);
+        break;
+        }
+      }
+    }
+
+  /**
+   * Writes only the statistics for the given word pattern groups: the number of groups, the maximum group size, and the
+   * variance in group size. The groups themselves are never created.
+   */
+  public void writeStatistics( WordPatternGroups patternGroups)
+    {
+    switch( getFormat())
+      {
+      case CSV:
+        {
+        if( !headerWritten_)
+          {
+          writer_.println( isEquivalents()? "guess,groups,max,variance,equivalents" : "guess,groups,max,variance");
+          headerWritten_ = true;
+          }
+        writer_.print(
+          String.format(
+            Locale.ROOT,
+            "%s,%d,%d,%.3f",
+            patternGroups.getGuess(),
+            patternGroups.getSize(),
+            patternGroups.getMax(),
+            patternGroups.getVariance()));
+        if( isEquivalents())
+          {
+          writer_.print( ',');
+          writeWords( patternGroups.getEquivalents(), " ", "");
+          }
+        writer_.println();
+        break;
+        }
+      case JSONL:
+        {
+        writer_.print(
+          String.format(
+            Locale.ROOT,
+            "{\"guess\":\"%s\",\"groups\":%d,\"max\":%d,\"variance\":%.3f",
+            patternGroups.getGuess(),
+            patternGroups.getSize(),
+            patternGroups.getMax(),
+            patternGroups.getVariance()));
+        if( isEquivalents())
+          {
+          writer_.print( ",\"equivalents\":[");
+          writeWords( patternGroups.getEquivalents(), ",", "\"");
+          writer_.print( ']');
+          }
+        writer_.println( '}');
+        break;
+        }
+      default:
+        {
+        writeTextStatistics( patternGroups);
+        break;
+        }
+      }
+    }
+
+  /**
+   * Writes the given results as text.
+   */
+  private void writeText( WordPatternGroups patternGroups, List<WordPattern> patterns, Map<WordPattern,Set<String>> groups)
+    {
+    writer_.println();
+    writeTextStatistics( patternGroups);
+    writer_.println( "--------------------------");
+
+    if( isEquivalents() && !patternGroups.getEquivalents().isEmpty())
+      {
+      writer_.println();
+      writer_.print( "  Equivalent: ");
+      writeWords( patternGroups.getEquivalents(), " ", "");
+      writer_.println();
+      }
+
+    for( WordPattern pattern : patterns)
+      {
+      writer_.println();
+      writer_.print( "  ");
+      writer_.print( pattern);
+      if( groups == null)
+        {
+        writer_.print( ' ');
+        writer_.println( patternGroups.getCount( pattern));
+        }
+      else
+        {
+        writer_.println();
+        for( String word : sorted( groups.get( pattern)))
+          {
+          writer_.print( "    ");
+          writer_.println( word);
+          }
+        }
+      }
+    }
+
+  /**
+   * Writes the statistics for the given results as a line of text.
+   */
+  private void writeTextStatistics( WordPatternGroups patternGroups)
+    {
+    writer_.println(
+      String.format(
+        "%s %20s",
+        patternGroups.getGuess(),
+        String.format( "[ %d | %d | %.3f ]", patternGroups.getSize(), patternGroups.getMax(), patternGroups.getVariance())));
+    }
+
+  /**
+   * Writes the given results as comma-separated values.
+   */
+  private void writeCsv( WordPatternGroups patternGroups, List<WordPattern> patterns, Map<WordPattern,Set<String>> groups)
+    {
+    if( !headerWritten_)
+      {
+      writer_.print( groups == null? "guess,groups,max,variance,pattern,count" : "guess,groups,max,variance,pattern,count,words");
+      writer_.println( isEquivalents()? ",equivalents" : "");
+      headerWritten_ = true;
+      }
+
+    String statistics =
+      String.format(
+        Locale.ROOT,
+        "%s,%d,%d,%.3f,",
+        patternGroups.getGuess(),
+        patternGroups.getSize(),
+        patternGroups.getMax(),
+        patternGroups.getVariance());
+
+    for( WordPattern pattern : patterns)
+      {
+      writer_.print( statistics);
+      writer_.print( pattern);
+      writer_.print( ',');
+      writer_.print( patternGroups.getCount( pattern));
+      if( groups != null)
+        {
+        writer_.print( ',');
+        writeWords( groups.get( pattern), " ", "");
+        }
+      if( isEquivalents())
+        {
+        writer_.print( ',');
+        writeWords( patternGroups.getEquivalents(), " ", "");
+        }
+      writer_.println();
+      }
+    }
+
+  /**
+   * Writes the given results as a JSON object.
+   */
+  private void writeJson( WordPatternGroups patternGroups, List<WordPattern> patterns, Map<WordPattern,Set<String>> groups)
+    {
+    writer_.print(
+      String.format(
+        Locale.ROOT,
+        "{\"guess\":\"%s\",\"groups\":%d,\"max\":%d,\"variance\":%.3f,",
+        patternGroups.getGuess(),
+        patternGroups.getSize(),
+        patternGroups.getMax(),
+        patternGroups.getVariance()));
+
+    if( isEquivalents())
+      {
+      writer_.print( "\"equivalents\":[");
+      writeWords( patternGroups.getEquivalents(), ",", "\"");
+      writer_.print( "],");
+      }
+    writer_.print( "\"patterns\":{");
+
+    for( Iterator<WordPattern> i = patterns.iterator(); i.hasNext();)
+      {
+      WordPattern pattern = i.next();
+      writer_.print( '"');
+      writer_.print( pattern);
+      writer_.print( "\":");
+      if( groups == null)
+        {
+        writer_.print( patternGroups.getCount( pattern));
+        }
+      else
+        {
+        writer_.print( '[');
+        writeWords( groups.get( pattern), ",", "\"");
+        writer_.print( ']');
+        }
+      if( i.hasNext())
+        {
+        writer_.print( ',');
+        }
+      }
+
+    writer_.println( "}}");
+    }
+
+  /**
+   * Writes the given words in order, separated by the given delimiter and enclosed in the given quotes.
+   */
+  private void writeWords( Collection<String> words, String delimiter, String quote)
+    {
+    String separator = "";
+    for( String word : sorted( words))
+      {
+      writer_.print( separator);
+      writer_.print( quote);
+      writer_.print( word);
+      writer_.print( quote);
+      separator = delimiter;
+      }
+    }
+
+  /**
+   * Returns the given words in alphabetical order. Words that are already in this order are returned as is.
+   */
+  private static Iterable<String> sorted( Collection<String> words)
+    {
+    return
+      isSorted( words)
+      ? words
+      : words.stream().sorted()::iterator;
+    }
+
+  /**
+   * Returns if the given words are always iterated in alphabetical order.
+   */
+  private static boolean isSorted( Collection<String> words)
+    {
+    return
+      words instanceof WordSet
+      ? ((WordSet) words).getWords() instanceof WordList && ((WordList) ((WordSet) words).getWords()).isSorted()
+      : words instanceof SortedSet && ((SortedSet<String>) words).comparator() == null;
+    }
+
+  /**
+   * Returns the order for writing the groups of the given results.
+   */
+  private static Comparator<WordPattern> groupOrder( WordPatternGroups patternGroups)
+    {
+    return
+      Comparator.comparingInt( (WordPattern pattern) -> patternGroups.getCount( pattern))
+      .reversed()
+      .thenComparing( Comparator.naturalOrder());
+    }
+
+  /**
+   * Writes all buffered results.
+   */
+  public void flush()
+    {
+    writer_.flush();
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( getFormat())
+      .append( isCountsOnly()? ",counts" : "")
+      .append( isEquivalents()? ",equivalents" : "")
+      .append( ']')
+      .toString();
+    }
+
+  private final PrintWriter writer_;
+  private final Format format_;
+  private final boolean countsOnly_;
+  private final boolean equivalents_;
+  private boolean headerWritten_;
+  }
@@ -0,0 +1,385 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Finds a {@link DecisionTree} that needs the fewest total guesses to find every target word. Every target word must
+ * also be one of the guess words.
+ * <P/>
+ * The solver searches recursively, partitioning each set of candidate targets into the pattern groups for each guess.
+ * The least cost for each candidate set solved is remembered, so a set reached by different paths is solved only once.
+ * <P/>
+ * Branches are pruned using a lower bound on cost: every candidate needs at least one guess, and every candidate other
+ * than the guess itself needs at least one more. For each candidate set, guesses are tried in order of increasing lower
+ * bound, and the search stops as soon as no remaining guess can improve on the best cost found. Each branch is searched
+ * with a budget, so a branch that can't improve on the best cost found is abandoned as soon as its cost reaches this budget.
+ * <P/>
+ * Guesses that partition a candidate set in the same way lead to the same cost, so only the first of these
+ * {@link EquivalentGuesses equivalent guesses} is tried.
+ * <P/>
+ * By default, every guess is considered for every candidate set, so the decision tree found is optimal. To search faster,
+ * use {@link #setBreadth} to consider only the most promising guesses for each candidate set.
+ */
+public class Solver
+  {
+  /**
+   * Creates a new Solver instance.
+   */
+  public Solver( PatternMatrix patterns)
+    {
+    if( patterns.getGuessCount() > GUESS_MASK || 3L * patterns.getTargetCount() >= (1L << (63 - BOUND_SHIFT)))
+      {
+      throw new IllegalArgumentException( String.format( "Can't solve for %s guesses and %s targets", patterns.getGuessCount(), patterns.getTargetCount()));
+      }
+
+    patterns_ = patterns;
+    targetGuesses_ =
+      patterns.getTargets().stream()
+      .mapToInt( target -> {
+          int guess = patterns.getGuessId( target);
+          if( guess < 0)
+            {
+            throw new IllegalArgumentException( String.format( "Target=%s is not one of the guesses", target));
+            }
+          return guess;
+        })
+      .toArray();
+
+    setBreadth( Integer.MAX_VALUE);
+    }
+
+  /**
+   * Changes the maximum number of guesses considered for each set of candidate targets.
+   */
+  public void setBreadth( int breadth)
+    {
+    if( breadth < 1)
+      {
+      throw new IllegalArgumentException( "Breadth must be at least 1");
+      }
+    breadth_ = breadth;
+    }
+
+  /**
+   * Returns the maximum number of guesses considered for each set of candidate targets.
+   */
+  public int getBreadth()
+    {
+    return breadth_;
+    }
+
+  /**
+   * Returns the number of candidate sets solved so far.
+   */
+  public int getSolvedCount()
+    {
+    return solved_.size();
+    }
+
+  /**
+   * Returns a decision tree that finds every target with the fewest total guesses. Returns null if there are no targets.
+   */
+  public DecisionTree solve()
+    {
+    return solve( IntStream.range( 0, patterns_.getTargetCount()).toArray());
+    }
+
+  /**
+   * Returns a decision tree that finds every one of the given targets with the fewest total guesses. The given target ids
+   * must be in increasing order. Returns null if there are no targets.
+   */
+  DecisionTree solve( int[] candidates)
+    {
+    if( candidates.length == 0)
+      {
+      return null;
+      }
+
+    solve( candidates, Long.MAX_VALUE);
+    return decisionTree( candidates);
+    }
+
+  /**
+   * Returns the least total guesses needed to find every given candidate, if less than the given budget. Otherwise,
+   * returns a lower bound that is at least the given budget.
+   */
+  private long solve( int[] candidates, long budget)
+    {
+    // Guessing either of two candidates always finds both with the least total guesses.
+    int size = candidates.length;
+    if( size <= 2)
+      {
+      return lowerBound( size);
+      }
+
+    Key key = new Key( candidates);
+    Solution solution = solved_.get( key);
+    if( solution != null && (solution.isExact() || solution.cost >= budget))
+      {
+      return solution.cost;
+      }
+
+    long best = budget;
+    int bestGuess = -1;
+    int[] counts = new int[ WordPattern.CODES];
+    long[] guessKeys = guessKeys( candidates, counts);
+    long rank = -1;
+    int rankFirst = -1;
+    EquivalentGuesses equivalents = null;
+    for( int i = 0, tried = 0; i < guessKeys.length && tried < getBreadth(); i++)
+      {
+      long guessKey = guessKeys[i];
+      long guessBound = guessKey >>> BOUND_SHIFT;
+      if( guessBound >= best)
+        {
+        break;
+        }
+
+      // Equivalent guesses have the same lower bound and sum of squares, so a guess can be equivalent
+      // only to guesses already tried with the same rank.
+      int guess = (int) (guessKey & GUESS_MASK);
+      boolean equivalent = false;
+      if( (guessKey >>> GUESS_BITS) != rank)
+        {
+        rank = guessKey >>> GUESS_BITS;
+        rankFirst = guess;
+        equivalents = null;
+        }
+      else
+        {
+        if( equivalents == null)
+          {
+          equivalents = new EquivalentGuesses( patterns_, candidates);
+          equivalents.add( rankFirst);
+          }
+        equivalent = equivalents.add( guess) != guess;
+        }
+
+      if( !equivalent)
+        {
+        tried++;
+        long cost = guessBound;
+        for( int[] group : partition( candidates, guess, counts))
+          {
+          long groupBound = lowerBound( group.length);
+          cost += solve( group, best - cost + groupBound) - groupBound;
+          if( cost >= best)
+            {
+            break;
+            }
+          }
+
+        if( cost < best)
+          {
+          best = cost;
+          bestGuess = guess;
+          }
+        }
+      }
+
+    solved_.put( key, new Solution( best, bestGuess));
+    return best;
+    }
+
+  /**
+   * Returns the keys for the guesses to consider for the given candidates, in order of increasing lower bound.
+   * Each key combines the lower bound for a guess with a secondary ranking and the guess id.
+   */
+  private long[] guessKeys( int[] candidates, int[] counts)
+    {
+    int size = candidates.length;
+    long[] keys = new long[ patterns_.getGuessCount()];
+    int guesses = 0;
+    for( int guess = 0; guess < keys.length; guess++)
+      {
+      int groups = 0;
+      long sumOfSquares = 0;
+      for( int target : candidates)
+        {
+        int count = ++counts[ patterns_.getCode( guess, target)];
+        if( count == 1)
+          {
+          groups++;
+          }
+        sumOfSquares += 2 * count - 1;
+        }
+
+      int found = counts[0];
+      for( int target : candidates)
+        {
+        counts[ patterns_.getCode( guess, target)] = 0;
+        }
+
+      // Ignore any guess that doesn't narrow the candidates.
+      if( found > 0 || groups > 1)
+        {
+        long bound = guessBound( size, found, groups - (found > 0? 1 : 0));
+        keys[ guesses++] =
+          (bound << BOUND_SHIFT)
+          | (Math.min( sumOfSquares, SQUARES_MASK) << GUESS_BITS)
+          | guess;
+        }
+      }
+
+    keys = Arrays.copyOf( keys, guesses);
+    Arrays.sort( keys);
+    return keys;
+    }
+
+  /**
+   * Returns the pattern groups of the given candidates for the given guess, excluding any candidate found by this guess.
+   */
+  private int[][] partition( int[] candidates, int guess, int[] counts)
+    {
+    int groups = 0;
+    for( int target : candidates)
+      {
+      int code = patterns_.getCode( guess, target);
+      if( code != 0 && counts[ code]++ == 0)
+        {
+        groups++;
+        }
+      }
+
+    int[][] partition = new int[ groups][];
+    int[] groupOf = new int[ WordPattern.CODES];
+    for( int code = 1, group = 0; code < counts.length; code++)
+      {
+      if( counts[ code] > 0)
+        {
+        groupOf[ code] = group;
+        partition[ group++] = new int[ counts[ code]];
+        counts[ code] = 0;
+        }
+      }
+
+    int[] filled = new int[ groups];
+    for( int target : candidates)
+      {
+      int code = patterns_.getCode( guess, target);
+      if( code != 0)
+        {
+        int group = groupOf[ code];
+        partition[ group][ filled[ group]++] = target;
+        }
+      }
+
+    return partition;
+    }
+
+  /**
+   * Returns the decision tree for the given candidates, which must already be solved.
+   */
+  private DecisionTree decisionTree( int[] candidates)
+    {
+    int guess =
+      candidates.length <= 2
+      ? targetGuesses_[ candidates[0]]
+      : solved_.get( new Key( candidates)).guess;
+
+    boolean target = false;
+    for( int candidate : candidates)
+      {
+      target |= patterns_.getCode( guess, candidate) == 0;
+      }
+    Map<WordPattern,DecisionTree> branches = new LinkedHashMap<WordPattern,DecisionTree>();
+    for( int[] group : partition( candidates, guess, new int[ WordPattern.CODES]))
+      {
+      branches.put( patterns_.getPattern( guess, group[0]), decisionTree( group));
+      }
+
+    return new DecisionTree( patterns_.getGuesses().get( guess), target, branches);
+    }
+
+  /**
+   * Returns the lower bound on the total guesses needed to find every one of the given number of candidates.
+   */
+  private static long lowerBound( int size)
+    {
+    return Math.max( 0, 2 * size - 1);
+    }
+
+  /**
+   * Returns the lower bound on the total guesses needed to find every one of the given number of candidates,
+   * starting with a guess that finds the given number of candidates and leaves the given number of other groups.
+   */
+  private static long guessBound( int size, int found, int groups)
+    {
+    return size + 2L * (size - found) - groups;
+    }
+
+  /**
+   * Identifies a set of candidate targets.
+   */
+  private static class Key
+    {
+    private Key( int[] candidates)
+      {
+      candidates_ = candidates;
+      hashCode_ = Arrays.hashCode( candidates);
+      }
+
+    public boolean equals( Object object)
+      {
+      Key other =
+        object != null && object.getClass().equals( getClass())
+        ? (Key) object
+        : null;
+
+      return
+        other != null
+        && other.hashCode_ == hashCode_
+        && Arrays.equals( other.candidates_, candidates_);
+      }
+
+    public int hashCode()
+      {
+      return hashCode_;
+      }
+
+    private final int[] candidates_;
+    private final int hashCode_;
+    }
+
+  /**
+   * The result of solving a set of candidate targets. If no best guess was found, the cost is a lower bound.
+   */
+  private static class Solution
+    {
+    private Solution( long cost, int guess)
+      {
+      this.cost = cost;
+      this.guess = guess;
+      }
+
+    private boolean isExact()
+      {
+      return guess >= 0;
+      }
+
+    private final long cost;
+    private final int guess;
+    }
+
+  private final PatternMatrix patterns_;
+  private final int[] targetGuesses_;
+  private final Map<Key,Solution> solved_ = new HashMap<Key,Solution>();
+  private int breadth_;
+
+  private static final int GUESS_BITS = 20;
+  private static final int SQUARES_BITS = 23;
+  private static final int BOUND_SHIFT = GUESS_BITS + SQUARES_BITS;
+  private static final long GUESS_MASK = (1L << GUESS_BITS) - 1;
+  private static final long SQUARES_MASK = (1L << SQUARES_BITS) - 1;
+  }
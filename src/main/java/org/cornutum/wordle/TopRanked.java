@@ -0,0 +1,123 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Collects the best elements ranked by a given comparator, up to a given count.
+ * <P/>
+ * Elements are kept in a bounded heap, so any element that can't be among the best is discarded as soon as it is added.
+ * Each element is added with an index giving its position in the original sequence of elements. Elements that are equal
+ * according to the comparator are ranked by increasing index, so the results are the same as the first elements of the
+ * full sequence ranked by {@link Rankings#ranked Rankings.ranked()}.
+ */
+public class TopRanked<T>
+  {
+  /**
+   * Creates a new TopRanked instance.
+   */
+  public TopRanked( int count, Comparator<T> comparator)
+    {
+    if( count < 1)
+      {
+      throw new IllegalArgumentException( "Count must be at least 1");
+      }
+
+    count_ = count;
+    comparator_ =
+      Comparator.comparing( (Indexed<T> indexed) -> indexed.element, comparator)
+      .thenComparingInt( indexed -> indexed.index);
+    worstFirst_ = new PriorityQueue<Indexed<T>>( count, comparator_.reversed());
+    }
+
+  /**
+   * Returns the maximum number of elements collected.
+   */
+  public int getCount()
+    {
+    return count_;
+    }
+
+  /**
+   * Adds the given element at the given position in the original sequence.
+   */
+  public void add( int index, T element)
+    {
+    add( new Indexed<T>( index, element));
+    }
+
+  /**
+   * Adds all elements collected by the given TopRanked instance.
+   */
+  public void addAll( TopRanked<T> other)
+    {
+    other.worstFirst_.forEach( this::add);
+    }
+
+  /**
+   * Returns the elements collected, in best-first order.
+   */
+  public List<T> getRanked()
+    {
+    List<Indexed<T>> ranked = new ArrayList<Indexed<T>>( worstFirst_);
+    ranked.sort( comparator_);
+    return ranked.stream().map( indexed -> indexed.element).collect( toList());
+    }
+
+  /**
+   * Adds the given indexed element.
+   */
+  private void add( Indexed<T> indexed)
+    {
+    if( worstFirst_.size() < getCount())
+      {
+      worstFirst_.add( indexed);
+      }
+    else if( comparator_.compare( indexed, worstFirst_.peek()) < 0)
+      {
+      worstFirst_.poll();
+      worstFirst_.add( indexed);
+      }
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( getCount())
+      .append( ',')
+      .append( worstFirst_.size())
+      .append( ']')
+      .toString();
+    }
+
+  /**
+   * An element at a given position in the original sequence.
+   */
+  private static class Indexed<T>
+    {
+    private Indexed( int index, T element)
+      {
+      this.index = index;
+      this.element = element;
+      }
+
+    private final int index;
+    private final T element;
+    }
+
+  private final int count_;
+  private final Comparator<Indexed<T>> comparator_;
+  private final PriorityQueue<Indexed<T>> worstFirst_;
+  }
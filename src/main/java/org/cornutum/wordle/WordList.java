@@ -0,0 +1,112 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list of words that finds the index of any word without searching the list.
+ * <P/>
+ * The index of each word is kept in a map, which is created when first needed. A word that occurs more than once
+ * is identified by its first index. A {@link WordSet} taken from a WordList can find the id of any word this way, so
+ * that {@link WordSet#contains(Object)} takes constant time.
+ */
+public class WordList extends AbstractList<String> implements RandomAccess
+  {
+  /**
+   * Creates a new WordList instance.
+   */
+  private WordList( List<String> words)
+    {
+    words_ = words;
+    }
+
+  /**
+   * Returns a WordList containing the given words. Returns the given list if it is already a WordList.
+   */
+  public static WordList of( List<String> words)
+    {
+    return
+      words instanceof WordList
+      ? (WordList) words
+      : new WordList( words);
+    }
+
+  public String get( int index)
+    {
+    return words_.get( index);
+    }
+
+  public int size()
+    {
+    return words_.size();
+    }
+
+  public int indexOf( Object word)
+    {
+    Integer id = getIds().get( word);
+    return id == null? -1 : id;
+    }
+
+  public boolean contains( Object word)
+    {
+    return indexOf( word) >= 0;
+    }
+
+  /**
+   * Returns if these words are in alphabetical order.
+   */
+  public boolean isSorted()
+    {
+    Boolean sorted = sorted_;
+    if( sorted == null)
+      {
+      boolean inOrder = true;
+      for( int i = 1; inOrder && i < words_.size(); i++)
+        {
+        inOrder = words_.get( i - 1).compareTo( words_.get( i)) <= 0;
+        }
+      sorted = sorted_ = inOrder;
+      }
+
+    return sorted;
+    }
+
+  /**
+   * Returns the index of each word, creating this map when first needed.
+   */
+  private Map<String,Integer> getIds()
+    {
+    Map<String,Integer> ids = ids_;
+    if( ids == null)
+      {
+      synchronized( this)
+        {
+        if( (ids = ids_) == null)
+          {
+          ids = new HashMap<String,Integer>( 2 * words_.size());
+          for( int id = 0; id < words_.size(); id++)
+            {
+            ids.putIfAbsent( words_.get( id), id);
+            }
+          ids_ = ids;
+          }
+        }
+      }
+
+    return ids;
+    }
+
+  private final List<String> words_;
+  private volatile Map<String,Integer> ids_;
+  private volatile Boolean sorted_;
+  }
@@ -0,0 +1,385 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Reads a list of words directly from the bytes of an ASCII or UTF-8 input stream.
+ * <P/>
+ * Words are separated by whitespace. Each word must contain exactly 5 letters A-Z, ignoring case. Each byte is
+ * classified using a lookup table and each word is {@link Dictionary#pack packed} as it is read, so no strings are
+ * created for valid words. An invalid word is reported with the line and column where it starts.
+ * <P/>
+ * A word file can also be a {@link #writeCompiled compiled} word list. A compiled file begins with a header
+ * containing a magic number, the format version, the number of words, format flags, and the fingerprint of
+ * the file contents, followed by the packed words of a {@link Dictionary} in id order and, optionally, the letter mask
+ * for each word. A compiled file is recognized by its magic number and is loaded with a single read, without parsing.
+ */
+public final class WordLoader
+  {
+  /**
+   * Creates a new WordLoader instance.
+   */
+  private WordLoader()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Returns the packed form of the words read from the given file, in the order read.
+   */
+  public static int[] readPacked( File file) throws IOException
+    {
+    try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ))
+      {
+      Compiled compiled = readCompiled( file, channel);
+      return
+        compiled == null
+        ? readPacked( channel)
+        : compiled.packed_;
+      }
+    }
+
+  /**
+   * Returns a dictionary of the words read from the given file.
+   */
+  public static Dictionary readDictionary( File file) throws IOException
+    {
+    try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ))
+      {
+      Compiled compiled = readCompiled( file, channel);
+      return
+        compiled == null
+        ? Dictionary.ofPacked( readPacked( channel))
+        : Dictionary.ofSorted( compiled.packed_, compiled.letterMasks_);
+      }
+    }
+
+  /**
+   * Writes the words in the given dictionary to the given file as a compiled word list, including
+   * the letter mask for each word.
+   */
+  public static void writeCompiled( Dictionary dictionary, File file) throws IOException
+    {
+    writeCompiled( dictionary, file, true);
+    }
+
+  /**
+   * Writes the words in the given dictionary to the given file as a compiled word list. If <CODE>letterMasks</CODE>
+   * is true, the letter mask for each word is also written.
+   */
+  public static void writeCompiled( Dictionary dictionary, File file, boolean letterMasks) throws IOException
+    {
+    int count = dictionary.size();
+    ByteBuffer contents = ByteBuffer.allocate( HEADER_SIZE + (letterMasks? 8 : 4) * count);
+
+    ((Buffer) contents).position( HEADER_SIZE);
+    IntBuffer words = contents.asIntBuffer().put( dictionary.packedWords());
+    if( letterMasks)
+      {
+      words.put( dictionary.letterMasks());
+      }
+    byte[] fingerprint = fingerprint( contents);
+
+    ((Buffer) contents).position( 0);
+    contents
+      .putInt( MAGIC)
+      .putInt( VERSION)
+      .putInt( count)
+      .putInt( letterMasks? LETTER_MASKS : 0)
+      .put( fingerprint);
+    ((Buffer) contents).clear();
+
+    try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+      {
+      while( contents.hasRemaining())
+        {
+        channel.write( contents);
+        }
+      }
+    }
+
+  /**
+   * If the given file channel contains a compiled word list, returns its contents. Otherwise, returns null.
+   */
+  private static Compiled readCompiled( File file, FileChannel channel) throws IOException
+    {
+    long size = channel.size();
+    ByteBuffer magic = ByteBuffer.allocate( 4);
+    if( size < HEADER_SIZE || !readFully( channel, magic, 0) || magic.getInt( 0) != MAGIC)
+      {
+      return null;
+      }
+
+    if( size > Integer.MAX_VALUE)
+      {
+      throw new IOException( String.format( "%s: compiled word list is too large", file));
+      }
+    ByteBuffer contents = ByteBuffer.allocate( (int) size);
+    readFully( channel, contents, 0);
+    ((Buffer) contents).flip();
+
+    contents.getInt();
+    int version = contents.getInt();
+    if( version != VERSION)
+      {
+      throw new IOException( String.format( "%s: can't read compiled word list version=%s", file, version));
+      }
+    int count = contents.getInt();
+    int flags = contents.getInt();
+    byte[] fingerprint = new byte[ FINGERPRINT_SIZE];
+    contents.get( fingerprint);
+
+    boolean letterMasks = (flags & LETTER_MASKS) != 0;
+    if( count < 0 || size != HEADER_SIZE + (letterMasks? 8L : 4L) * count)
+      {
+      throw new IOException( String.format( "%s: compiled word list is incomplete", file));
+      }
+    if( !Arrays.equals( fingerprint, fingerprint( contents)))
+      {
+      throw new IOException( String.format( "%s: compiled word list fingerprint does not match its contents", file));
+      }
+
+    IntBuffer words = contents.asIntBuffer();
+    Compiled compiled = new Compiled( new int[ count], letterMasks? new int[ count] : null);
+    words.get( compiled.packed_);
+    if( letterMasks)
+      {
+      words.get( compiled.letterMasks_);
+      }
+    
+    return compiled;
+    }
+
+  /**
+   * Reads bytes from the given position of the given channel until the buffer is full. Returns false if
+   * the end of the channel is reached first.
+   */
+  private static boolean readFully( FileChannel channel, ByteBuffer buffer, long position) throws IOException
+    {
+    int read;
+    for( read = 0; buffer.hasRemaining() && read >= 0; position += read)
+      {
+      read = channel.read( buffer, position);
+      }
+
+    return !buffer.hasRemaining();
+    }
+
+  /**
+   * Returns the fingerprint of the remaining contents of the given buffer.
+   */
+  private static byte[] fingerprint( ByteBuffer contents)
+    {
+    try
+      {
+      MessageDigest digest = MessageDigest.getInstance( "SHA-256");
+      digest.update( contents.duplicate());
+      return digest.digest();
+      }
+    catch( NoSuchAlgorithmException e)
+      {
+      throw new IllegalStateException( "Can't compute word list fingerprint", e);
+      }
+    }
+
+  /**
+   * Returns the packed form of the words read from the given stream, in the order read.
+   */
+  public static int[] readPacked( InputStream stream) throws IOException
+    {
+    return readPacked( Channels.newChannel( stream));
+    }
+
+  /**
+   * Returns the packed form of the words read from the given channel, in the order read.
+   */
+  public static int[] readPacked( ReadableByteChannel channel) throws IOException
+    {
+    Parser parser = new Parser();
+    ByteBuffer buffer = ByteBuffer.allocate( BUFFER_SIZE);
+    byte[] bytes = buffer.array();
+    for( int read = channel.read( buffer); read >= 0; ((Buffer) buffer).clear(), read = channel.read( buffer))
+      {
+      for( int i = 0, end = ((Buffer) buffer).position(); i < end; i++)
+        {
+        parser.accept( bytes[i] & 0xff);
+        }
+      }
+
+    return parser.getWords();
+    }
+
+  /**
+   * Parses words from a sequence of bytes.
+   */
+  private static class Parser
+    {
+    /**
+     * Accepts the next input byte.
+     */
+    private void accept( int b)
+      {
+      int code = CODES[b];
+      if( code == SPACE)
+        {
+        endWord();
+        if( b == '\n')
+          {
+          line_++;
+          column_ = 0;
+          }
+        else
+          {
+          column_++;
+          }
+        }
+      else
+        {
+        // Count columns by character, so skip UTF-8 continuation bytes.
+        if( (b & 0xc0) != 0x80)
+          {
+          column_++;
+          }
+
+        if( wordBytes_ == 0)
+          {
+          wordLine_ = line_;
+          wordColumn_ = column_;
+          packed_ = 0;
+          length_ = 0;
+          valid_ = true;
+          }
+
+        if( wordBytes_ < reported_.length)
+          {
+          reported_[ wordBytes_] = (byte) b;
+          }
+        wordBytes_++;
+
+        if( code == INVALID)
+          {
+          valid_ = false;
+          }
+        else
+          {
+          packed_ = (packed_ << 5) | code;
+          length_++;
+          }
+        }
+      }
+
+    /**
+     * Completes the current word, if any.
+     */
+    private void endWord()
+      {
+      if( wordBytes_ > 0)
+        {
+        if( !valid_ || length_ != 5)
+          {
+          throw
+            new IllegalArgumentException(
+              String.format(
+                "Line %s, column %s: '%s' %s",
+                wordLine_,
+                wordColumn_,
+                new String( reported_, 0, Math.min( wordBytes_, reported_.length), StandardCharsets.UTF_8),
+                valid_? "is not a 5-letter word" : "contains chars other than A-Z"));
+          }
+
+        if( wordCount_ == words_.length)
+          {
+          words_ = Arrays.copyOf( words_, 2 * words_.length);
+          }
+        words_[ wordCount_++] = packed_;
+        wordBytes_ = 0;
+        }
+      }
+
+    /**
+     * Returns the words parsed from all input bytes.
+     */
+    private int[] getWords()
+      {
+      endWord();
+      return Arrays.copyOf( words_, wordCount_);
+      }
+
+    private int[] words_ = new int[ 1024];
+    private int wordCount_;
+    private int line_ = 1;
+    private int column_;
+    private int wordLine_;
+    private int wordColumn_;
+    private int packed_;
+    private int length_;
+    private boolean valid_;
+    private int wordBytes_;
+    private final byte[] reported_ = new byte[ MAX_REPORTED];
+    }
+
+  /**
+   * The contents of a compiled word list.
+   */
+  private static class Compiled
+    {
+    private Compiled( int[] packed, int[] letterMasks)
+      {
+      packed_ = packed;
+      letterMasks_ = letterMasks;
+      }
+
+    private final int[] packed_;
+    private final int[] letterMasks_;
+    }
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private static final int MAGIC = 0x0057444c;
+  private static final int VERSION = 1;
+  private static final int LETTER_MASKS = 1;
+  private static final int FINGERPRINT_SIZE = 32;
+  private static final int HEADER_SIZE = 16 + FINGERPRINT_SIZE;
+  private static final int MAX_REPORTED = 64;
+
+  private static final byte SPACE = -1;
+  private static final byte INVALID = -2;
+
+  /**
+   * Maps each byte to its letter code, or to SPACE or INVALID.
+   */
+  private static final byte[] CODES = new byte[ 256];
+  static
+    {
+    Arrays.fill( CODES, INVALID);
+    for( int letter = 0; letter < Dictionary.LETTERS; letter++)
+      {
+      CODES[ 'A' + letter] = (byte) letter;
+      CODES[ 'a' + letter] = (byte) letter;
+      }
+    for( char space : new char[]{ ' ', '\t', '\n', '\u000B', '\f', '\r'})
+      {
+      CODES[ space] = SPACE;
+      }
+    }
+  }
@@ -10,15 +10,11 @@ package org.cornutum.wordle;
 import static org.cornutum.wordle.Clue.*;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.IntStream;
-import static java.util.Collections.emptyList;
 import static java.util.Collections.reverseOrder;
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
@@ -36,6 +32,8 @@ public class WordPattern implements Comparable<WordPattern>
       Optional.ofNullable( clues)
       .filter( list -> list.size() == 5)
       .orElseThrow( () -> new IllegalArgumentException( "A WordPattern must contain exactly 5 clues."));
+
+    code_ = clues_.stream().mapToInt( Clue::getRank).reduce( 0, (code, rank) -> code * 3 + rank);
     }
 
   /**
@@ -62,51 +60,220 @@ public class WordPattern implements Comparable<WordPattern>
    */
   public static WordPattern patternFor( String target, String guess)
     {
-    Clue[] clues = new Clue[]{ WHITE, WHITE, WHITE, WHITE, WHITE};
+    return valueOf( patternCode( target, guess));
+    }
+
+  /**
+   * Returns the code for the pattern comparing the given guess to the given target word.
+   * A pattern code is a base-3 integer in the range [0, {@link #CODES}), where each digit
+   * is the {@link Clue#getRank rank} of a clue and the first clue is the most significant digit.
+   */
+  public static int patternCode( String target, String guess)
+    {
+    int greens = 0;
+    for( int i = 0; i < 5; i++)
+      {
+      if( target.charAt(i) == guess.charAt(i))
+        {
+        greens |= 1 << i;
+        }
+      }
+
+    int matched = greens;
+    int code = 0;
+    for( int i = 0; i < 5; i++)
+      {
+      int rank;
+      if( (greens & (1 << i)) != 0)
+        {
+        rank = GREEN_RANK;
+        }
+      else
+        {
+        char guessChar = guess.charAt(i);
+        int j;
+        for( j = 0; j < 5 && ((matched & (1 << j)) != 0 || target.charAt(j) != guessChar); j++);
+        if( j < 5)
+          {
+          matched |= 1 << j;
+          rank = YELLOW_RANK;
+          }
+        else
+          {
+          rank = WHITE_RANK;
+          }
+        }
 
-    Map<Integer,List<Integer>> targetCharPos =
-      IntStream.range( 0, 5)
-      .mapToObj( Integer::valueOf)
-      .collect( groupingBy( i -> Integer.valueOf( target.charAt( i))));
+      code = code * 3 + rank;
+      }
 
-    Map<Integer,List<Integer>> guessCharPos =
-      IntStream.range( 0, 5)
-      .mapToObj( Integer::valueOf)
-      .collect( groupingBy( i -> Integer.valueOf( guess.charAt( i))));
+    return code;
+    }
+
+  /**
+   * Returns the code for the pattern comparing the given guess to the given target word, where both words
+   * are given in {@link Dictionary#pack packed} form.
+   */
+  public static int patternCode( int target, int guess)
+    {
+    int greens = 0;
+    for( int i = 0; i < 5; i++)
+      {
+      if( Dictionary.letterAt( target, i) == Dictionary.letterAt( guess, i))
+        {
+        greens |= 1 << i;
+        }
+      }
 
-    for( Integer guessChar : guessCharPos.keySet())
+    int matched = greens;
+    int code = 0;
+    for( int i = 0; i < 5; i++)
       {
-      List<Integer> targetPos = Optional.ofNullable( targetCharPos.get( guessChar)).orElse( emptyList());
-      int guessCharCount = targetPos.size();
-      if( guessCharCount > 0)
+      int rank;
+      if( (greens & (1 << i)) != 0)
+        {
+        rank = GREEN_RANK;
+        }
+      else
         {
-        List<Integer> guessPos = guessCharPos.get( guessChar);
-        Map<Clue,List<Integer>> guessClues = guessPos.stream().collect( groupingBy( pos -> targetPos.contains( pos)? GREEN : YELLOW));
+        int guessLetter = Dictionary.letterAt( guess, i);
+        int j;
+        for( j = 0; j < 5 && ((matched & (1 << j)) != 0 || Dictionary.letterAt( target, j) != guessLetter); j++);
+        if( j < 5)
+          {
+          matched |= 1 << j;
+          rank = YELLOW_RANK;
+          }
+        else
+          {
+          rank = WHITE_RANK;
+          }
+        }
+
+      code = code * 3 + rank;
+      }
+
+    return code;
+    }
 
-        List<Integer> greenPos = Optional.ofNullable( guessClues.get( GREEN)).orElse( emptyList());
-        for( int i = 0;
+  /**
+   * Returns the codes for the patterns comparing the given guess to every word in the given dictionary, in id order.
+   */
+  public static byte[] patternCodes( String guess, Dictionary targets)
+    {
+    byte[] codes = new byte[ targets.size()];
+    patternCodes( Dictionary.pack( guess), targets.packedWords(), targets.letterMasks(), codes);
+    return codes;
+    }
 
-             guessCharCount > 0
-               && i < greenPos.size();
+  /**
+   * Stores the codes for the patterns comparing the given packed guess to each of the given packed targets, where
+   * <CODE>targetMasks</CODE> gives the {@link Dictionary#letterMask letter mask} for each target.
+   * <P/>
+   * When the guess doesn't repeat a letter, which is the common case, a guess letter that is not green is yellow if and only
+   * if it matches some target letter that is not green. So all clues are computed without branching, since clues for
+   * different targets are unpredictable. Otherwise, each code is computed by {@link #patternCode(int,int)}.
+   */
+  static void patternCodes( int guess, int[] targets, int[] targetMasks, byte[] codes)
+    {
+    int guessMask = Dictionary.letterMask( guess);
+    if( Integer.bitCount( guessMask) == 5)
+      {
+      int guessBit0 = 1 << Dictionary.letterAt( guess, 0);
+      int guessBit1 = 1 << Dictionary.letterAt( guess, 1);
+      int guessBit2 = 1 << Dictionary.letterAt( guess, 2);
+      int guessBit3 = 1 << Dictionary.letterAt( guess, 3);
+      int guessBit4 = 1 << Dictionary.letterAt( guess, 4);
 
-             clues[ greenPos.get(i)] = GREEN,
-               guessCharCount--,
-               i++);
+      for( int t = 0; t < targets.length; t++)
+        {
+        int target = targets[t];
+        int diff = target ^ guess;
 
-        List<Integer> yellowPos = Optional.ofNullable( guessClues.get( YELLOW)).orElse( emptyList());
-        Collections.sort( yellowPos);
-        for( int i = 0;
+        // For each position, all 1's if not green, otherwise 0.
+        int open0 = -((diff >>> 20) & 0x1f) >> 31;
+        int open1 = -((diff >>> 15) & 0x1f) >> 31;
+        int open2 = -((diff >>> 10) & 0x1f) >> 31;
+        int open3 = -((diff >>> 5) & 0x1f) >> 31;
+        int open4 = -(diff & 0x1f) >> 31;
 
-             guessCharCount > 0
-               && i < yellowPos.size();
+        // Mask of target letters that are not green. An int shift uses only the low 5 bits of the shift
+        // distance, which is the letter code at that position.
+        int openLetters =
+          ((1 << (target >>> 20)) & open0)
+          | ((1 << (target >>> 15)) & open1)
+          | ((1 << (target >>> 10)) & open2)
+          | ((1 << (target >>> 5)) & open3)
+          | ((1 << target) & open4);
 
-             clues[ yellowPos.get(i)] = YELLOW,
-               guessCharCount--,
-               i++);
+        int code = clueRank( open0, openLetters, guessBit0);
+        code = code * 3 + clueRank( open1, openLetters, guessBit1);
+        code = code * 3 + clueRank( open2, openLetters, guessBit2);
+        code = code * 3 + clueRank( open3, openLetters, guessBit3);
+        code = code * 3 + clueRank( open4, openLetters, guessBit4);
+        codes[t] = (byte) code;
         }
       }
+    else
+      {
+      for( int t = 0; t < targets.length; t++)
+        {
+        codes[t] =
+          (byte)
+          ((targetMasks[t] & guessMask) == 0
+           ? CODES - 1
+           : patternCode( targets[t], guess));
+        }
+      }
+    }
+
+  /**
+   * Returns the rank of a clue for a guess letter that is not repeated, computed without branching. This relies on
+   * the ranks GREEN=0, YELLOW=1, and WHITE=2.
+   */
+  private static int clueRank( int open, int openLetters, int guessBit)
+    {
+    int yellow = -(openLetters & guessBit) >>> 31;
+    return (WHITE_RANK - yellow) & open;
+    }
+
+  /**
+   * Returns the clue for the given letter position.
+   */
+  public Clue getClue( int position)
+    {
+    return clues_.get( position);
+    }
 
-    return new WordPattern( Arrays.asList( clues));
+  /**
+   * Returns if this pattern can result from comparing the given guess to some target word. When a guess contains the
+   * same letter more than once, yellow clues are given to the first of these letters that are not green. So for a given
+   * letter, a white clue is never followed by a yellow clue.
+   */
+  public boolean isPossibleFor( String guess)
+    {
+    boolean possible = true;
+    for( int i = 0; possible && i < 5; i++)
+      {
+      if( getClue( i) == WHITE)
+        {
+        char letter = Character.toUpperCase( guess.charAt( i));
+        for( int j = i + 1; possible && j < 5; j++)
+          {
+          possible = !(getClue( j) == YELLOW && Character.toUpperCase( guess.charAt( j)) == letter);
+          }
+        }
+      }
+
+    return possible;
+    }
+
+  /**
+   * Returns the code for this pattern.
+   */
+  public int getCode()
+    {
+    return code_;
     }
 
   /**
@@ -127,14 +294,14 @@ public class WordPattern implements Comparable<WordPattern>
 
     return
       other != null
-      && other.clues_.equals( clues_);
+      && other.code_ == code_;
     }
 
   public int hashCode()
     {
     return
       getClass().hashCode()
-      ^ clues_.hashCode();
+      ^ code_;
     }
 
   public String toString()
@@ -154,7 +321,48 @@ public class WordPattern implements Comparable<WordPattern>
         .collect( toList()));
     }
 
+  /**
+   * Returns the WordPattern represented by the given code.
+   */
+  public static WordPattern valueOf( int code)
+    {
+    if( code < 0 || code >= CODES)
+      {
+      throw new IllegalArgumentException( String.format( "%s is not a valid WordPattern code", code));
+      }
+
+    return patterns_[ code];
+    }
+
+  /**
+   * The number of distinct pattern codes.
+   */
+  public static final int CODES = 243;
+
+  private static final int GREEN_RANK = GREEN.getRank();
+  private static final int YELLOW_RANK = YELLOW.getRank();
+  private static final int WHITE_RANK = WHITE.getRank();
+
   private final List<Clue> clues_;
+  private final int code_;
+
+  private static final WordPattern[] patterns_ =
+    IntStream.range( 0, CODES)
+    .mapToObj( code -> {
+      Clue[] clues = new Clue[5];
+      for( int i = 4, digits = code; i >= 0; clues[i] = clueOfRank( digits % 3), digits /= 3, i--);
+      return new WordPattern( clues);
+      })
+    .toArray( WordPattern[]::new);
+
+  private static Clue clueOfRank( int rank)
+    {
+    return
+      Arrays.stream( Clue.values())
+      .filter( clue -> clue.getRank() == rank)
+      .findFirst()
+      .orElseThrow( () -> new IllegalArgumentException( String.format( "%s is not a valid Clue rank", rank)));
+    }
 
   private static final Comparator<WordPattern> byClues_ =
     byClue( 0)
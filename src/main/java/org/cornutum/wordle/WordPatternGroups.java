@@ -7,15 +7,28 @@
 
 package org.cornutum.wordle;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.joining;
 
 /**
  * Defines a set of pattern groups for specified guess word.
+ * <P/>
+ * The number of words in each pattern group is always counted, which is all that's needed to rank this guess.
+ * Group statistics are updated as each pattern is added, so the size and max of these groups
+ * are available without scanning any groups. The variance and entropy of these groups are each computed once,
+ * from the group counts. Entropy uses a shared table of precomputed <CODE>n * log2(n)</CODE> values.
+ * Words in each group can be stored either as a sorted set of strings or as a {@link WordSet} of word ids.
+ * For a statistics-only instance, the actual words in each group are not stored but instead are created
+ * on demand when {@link #getGroups} is called.
  */
 public class WordPatternGroups
   {
@@ -23,9 +36,46 @@ public class WordPatternGroups
    * Creates a new WordPatternGroups instance.
    */
   public WordPatternGroups( String guess)
+    {
+    this( guess, null, null);
+    }
+
+  /**
+   * Creates a new WordPatternGroups instance. Words are identified by their index in the given word list, and
+   * each pattern group is a {@link WordSet} taken from this list.
+   */
+  public WordPatternGroups( String guess, List<String> words)
+    {
+    this( guess, null, words);
+    }
+
+  /**
+   * Creates a new WordPatternGroups instance. If <CODE>groupSupplier</CODE> is non-null, this is a statistics-only
+   * instance: only the number of words in each group is counted, and the groups are created by the given supplier
+   * when first needed.
+   */
+  public WordPatternGroups( String guess, Supplier<Map<WordPattern,Set<String>>> groupSupplier)
+    {
+    this( guess, groupSupplier, null);
+    }
+
+  /**
+   * Creates a new WordPatternGroups instance.
+   */
+  private WordPatternGroups( String guess, Supplier<Map<WordPattern,Set<String>>> groupSupplier, List<String> words)
     {
     guess_ = guess;
-    groups_ = new HashMap<WordPattern,Set<String>>();
+    groupSupplier_ = groupSupplier;
+    words_ = groupSupplier == null && words != null? WordList.of( words) : null;
+    groups_ =
+      groupSupplier == null && words_ == null
+      ? new HashMap<WordPattern,Set<String>>()
+      : null;
+    wordSets_ =
+      words_ == null
+      ? null
+      : new WordSet[ WordPattern.CODES];
+    counts_ = new int[ WordPattern.CODES];
     }
 
   /**
@@ -41,15 +91,133 @@ public class WordPatternGroups
    */
   public Map<WordPattern,Set<String>> getGroups()
     {
+    if( groups_ == null)
+      {
+      if( isStatisticsOnly())
+        {
+        groups_ = groupSupplier_.get();
+        }
+      else
+        {
+        groups_ = new HashMap<WordPattern,Set<String>>();
+        for( int code = 0; code < wordSets_.length; code++)
+          {
+          if( wordSets_[ code] != null)
+            {
+            groups_.put( WordPattern.valueOf( code), wordSets_[ code]);
+            }
+          }
+        }
+      }
+
     return groups_;
     }
 
+  /**
+   * Adds a guess that gives the same pattern groups as this guess.
+   */
+  public void addEquivalent( String guess)
+    {
+    if( equivalents_ == null)
+      {
+      equivalents_ = new ArrayList<String>();
+      }
+    equivalents_.add( guess);
+    }
+
+  /**
+   * Returns the other guesses that give the same pattern groups as this guess.
+   */
+  public List<String> getEquivalents()
+    {
+    return Optional.ofNullable( equivalents_).orElse( emptyList());
+    }
+
+  /**
+   * Returns if this instance counts only the number of words in each group.
+   */
+  public boolean isStatisticsOnly()
+    {
+    return groupSupplier_ != null;
+    }
+
   /**
    * Adds the pattern for the given word to groups for this guess.
    */
   public void addPattern( String word)
     {
-    addPatternWord( WordPattern.patternFor( word, getGuess()), word);
+    addPattern( WordPattern.patternCode( word, getGuess()), word);
+    }
+
+  /**
+   * Adds the given word to the group for the given pattern code.
+   */
+  public void addPattern( int patternCode, String word)
+    {
+    if( words_ != null)
+      {
+      int id = words_.indexOf( word);
+      if( id < 0)
+        {
+        throw new IllegalArgumentException( String.format( "Word=%s is not in the word list for these groups", word));
+        }
+      addPattern( patternCode, id);
+      }
+    else
+      {
+      countPattern( patternCode);
+      if( !isStatisticsOnly())
+        {
+        addPatternWord( WordPattern.valueOf( patternCode), word);
+        }
+      }
+    }
+
+  /**
+   * Adds the word with the given id to the group for the given pattern code. Unless this is a statistics-only
+   * instance, words must be {@link #WordPatternGroups(String,List) identified by their index in a word list}.
+   */
+  public void addPattern( int patternCode, int wordId)
+    {
+    countPattern( patternCode);
+    if( !isStatisticsOnly())
+      {
+      if( words_ == null)
+        {
+        throw new IllegalStateException( "No word list defined for these groups");
+        }
+
+      WordSet group = wordSets_[ patternCode];
+      if( group == null)
+        {
+        group = wordSets_[ patternCode] = new WordSet( words_);
+        if( groups_ != null)
+          {
+          groups_.put( WordPattern.valueOf( patternCode), group);
+          }
+        }
+      group.add( wordId);
+      }
+    }
+
+  /**
+   * Updates group statistics for a word added to the group for the given pattern code.
+   */
+  private void countPattern( int patternCode)
+    {
+    int count = ++counts_[ patternCode];
+    if( count == 1)
+      {
+      size_++;
+      }
+    if( count > max_)
+      {
+      max_ = count;
+      }
+    sum_++;
+    sumOfSquares_ += 2 * count - 1;
+    variance_ = null;
+    entropy_ = -1;
     }
 
   public String toString()
@@ -62,8 +230,9 @@ public class WordPatternGroups
       .append( String.format( "%.3f", getVariance()))
       .append( ',')
       .append(
-        getGroups().entrySet().stream()
-        .map( e -> String.format( "%s=%d", e.getKey(), e.getValue().size()))
+        IntStream.range( 0, counts_.length)
+        .filter( code -> counts_[ code] > 0)
+        .mapToObj( code -> String.format( "%s=%d", WordPattern.valueOf( code), counts_[ code]))
         .collect( joining( ",")))
       .append( ']')
       .toString();
@@ -74,9 +243,34 @@ public class WordPatternGroups
    */
   private void addPatternWord( WordPattern pattern, String word)
     {
-    Set<String> patternWords = Optional.ofNullable( getGroups().get( pattern)).orElse( new TreeSet<String>());
+    Set<String> patternWords = Optional.ofNullable( groups_.get( pattern)).orElse( new TreeSet<String>());
     patternWords.add( word);
-    getGroups().put( pattern, patternWords);
+    groups_.put( pattern, patternWords);
+    }
+
+  /**
+   * Returns the number of words in the group for the given pattern.
+   */
+  public int getCount( WordPattern pattern)
+    {
+    return counts_[ pattern.getCode()];
+    }
+
+  /**
+   * Returns the patterns for all non-empty groups, in order of increasing pattern code.
+   */
+  public List<WordPattern> getPatterns()
+    {
+    List<WordPattern> patterns = new ArrayList<WordPattern>( size_);
+    for( int code = 0; code < counts_.length; code++)
+      {
+      if( counts_[ code] > 0)
+        {
+        patterns.add( WordPattern.valueOf( code));
+        }
+      }
+
+    return patterns;
     }
 
   /**
@@ -84,7 +278,7 @@ public class WordPatternGroups
    */
   public int getSize()
     {
-    return getGroups().size();
+    return size_;
     }
 
   /**
@@ -92,7 +286,23 @@ public class WordPatternGroups
    */
   public int getMax()
     {
-    return getGroups().values().stream().mapToInt( Set::size).max().orElse( 0);
+    return max_;
+    }
+
+  /**
+   * Returns the number of words in all pattern groups.
+   */
+  public int getTotal()
+    {
+    return sum_;
+    }
+
+  /**
+   * Returns the sum of the squares of all pattern group sizes.
+   */
+  public long getSumOfSquares()
+    {
+    return sumOfSquares_;
     }
 
   /**
@@ -100,21 +310,106 @@ public class WordPatternGroups
    */
   public Float getVariance()
     {
-    final double avgSize =
-      getGroups().values().stream()
-      .mapToDouble( words -> (double) words.size())
-      .average()
-      .orElse( 0.0);
+    if( variance_ == null)
+      {
+      final double avgSize = size_ == 0? 0.0 : (double) sum_ / size_;
+
+      variance_ =
+        (float)
+        IntStream.of( counts_)
+        .filter( count -> count > 0)
+        .mapToDouble( count -> Math.pow( count - avgSize, 2))
+        .average()
+        .orElse( 0.0);
+      }
 
+    return variance_;
+    }
+
+  /**
+   * Returns the expected number of words remaining after this guess, assuming all words are equally likely.
+   */
+  public double getExpectedSize()
+    {
     return
-      (float)
-      getGroups().values().stream()
-      .mapToDouble( words -> (double) words.size())
-      .map( size -> Math.pow( size - avgSize, 2))
-      .average()
-      .orElse( 0.0);
+      sum_ == 0
+      ? 0.0
+      : (double) sumOfSquares_ / sum_;
+    }
+
+  /**
+   * Returns the entropy (in bits) of the distribution of words among pattern groups. This is the expected
+   * information given by the pattern for this guess, assuming all words are equally likely.
+   */
+  public double getEntropy()
+    {
+    if( entropy_ < 0)
+      {
+      double groupsNLogN = 0.0;
+      for( int count : counts_)
+        {
+        groupsNLogN += nLogN( count);
+        }
+
+      entropy_ =
+        sum_ == 0
+        ? 0.0
+        : Math.max( 0.0, (nLogN( sum_) - groupsNLogN) / sum_);
+      }
+
+    return entropy_;
+    }
+
+  /**
+   * Returns <CODE>n * log2(n)</CODE> for the given group size.
+   */
+  private static double nLogN( int n)
+    {
+    double[] table = nLogN_;
+    if( n >= table.length)
+      {
+      table = nLogNTable( n);
+      }
+
+    return table[n];
+    }
+
+  /**
+   * Returns a table of <CODE>n * log2(n)</CODE> values that includes the given group size.
+   */
+  private static synchronized double[] nLogNTable( int n)
+    {
+    if( n >= nLogN_.length)
+      {
+      double[] table = new double[ Math.max( n + 1, 2 * nLogN_.length)];
+      for( int i = 1; i < table.length; i++)
+        {
+        table[i] = i * Math.log( i) / LOG_2;
+        }
+      nLogN_ = table;
+      }
+
+    return nLogN_;
     }
 
   private final String guess_;
-  private final Map<WordPattern,Set<String>> groups_;
+  private final Supplier<Map<WordPattern,Set<String>>> groupSupplier_;
+  private Map<WordPattern,Set<String>> groups_;
+  private final WordList words_;
+  private final WordSet[] wordSets_;
+  private final int[] counts_;
+  private List<String> equivalents_;
+  private int size_;
+  private int max_;
+  private int sum_;
+  private long sumOfSquares_;
+  private Float variance_;
+  private double entropy_ = -1;
+
+  private static final double LOG_2 = Math.log( 2);
+  private static volatile double[] nLogN_ = new double[0];
+  static
+    {
+    nLogNTable( (1 << 12) - 1);
+    }
   }
@@ -0,0 +1,335 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Defines a set of words taken from a given list of words.
+ * <P/>
+ * Each member is identified by its index in the word list and is stored as one bit of a bitset. A WordSet is
+ * iterated in order of increasing word id. Filtering, intersection, and counting are done one 64-bit word at a time.
+ * Sets can be combined only if they are taken from the same word list.
+ * <P/>
+ * Members are added and removed by word id only. A word string can be added to a WordSet only by finding its
+ * id in the word list. If the word list is a {@link WordList}, the id of any word is found without searching the list,
+ * so {@link #contains(Object)} takes constant time.
+ */
+public class WordSet extends AbstractSet<String>
+  {
+  /**
+   * Creates a new empty WordSet instance.
+   */
+  public WordSet( List<String> words)
+    {
+    this( words, new long[ (words.size() + 63) >>> 6]);
+    }
+
+  /**
+   * Creates a new WordSet instance.
+   */
+  private WordSet( List<String> words, long[] bits)
+    {
+    words_ = words;
+    bits_ = bits;
+    }
+
+  /**
+   * Returns a new WordSet containing all of the given words.
+   */
+  public static WordSet allOf( List<String> words)
+    {
+    WordSet all = new WordSet( words);
+    int size = words.size();
+    Arrays.fill( all.bits_, -1L);
+    if( (size & 63) != 0)
+      {
+      all.bits_[ all.bits_.length - 1] = (1L << size) - 1;
+      }
+
+    return all;
+    }
+
+  /**
+   * Returns the list of words that are possible members of this set.
+   */
+  public List<String> getWords()
+    {
+    return words_;
+    }
+
+  /**
+   * Adds the word with the given id. Returns true if this set changed.
+   */
+  public boolean add( int id)
+    {
+    long bit = 1L << id;
+    int i = id >>> 6;
+    boolean added = (bits_[i] & bit) == 0;
+    bits_[i] |= bit;
+    return added;
+    }
+
+  /**
+   * Removes the word with the given id. Returns true if this set changed.
+   */
+  public boolean remove( int id)
+    {
+    long bit = 1L << id;
+    int i = id >>> 6;
+    boolean removed = (bits_[i] & bit) != 0;
+    bits_[i] &= ~bit;
+    return removed;
+    }
+
+  /**
+   * Returns if this set contains the word with the given id.
+   */
+  public boolean contains( int id)
+    {
+    return id >= 0 && id < words_.size() && (bits_[ id >>> 6] & (1L << id)) != 0;
+    }
+
+  /**
+   * Returns the least id of a word in this set that is greater than or equal to the given id.
+   * Returns -1 if there is no such word.
+   */
+  public int nextId( int from)
+    {
+    int i = from >>> 6;
+    if( i >= bits_.length)
+      {
+      return -1;
+      }
+
+    long bits = bits_[i] & (-1L << from);
+    while( bits == 0)
+      {
+      if( ++i >= bits_.length)
+        {
+        return -1;
+        }
+      bits = bits_[i];
+      }
+
+    return (i << 6) + Long.numberOfTrailingZeros( bits);
+    }
+
+  /**
+   * Returns the ids of all words in this set, in increasing order.
+   */
+  public int[] getIds()
+    {
+    int[] ids = new int[ size()];
+    for( int id = nextId( 0), i = 0; id >= 0; id = nextId( id + 1))
+      {
+      ids[ i++] = id;
+      }
+
+    return ids;
+    }
+
+  /**
+   * Returns the ids of all words in this set, in increasing order.
+   */
+  public IntStream ids()
+    {
+    return IntStream.of( getIds());
+    }
+
+  /**
+   * Returns a new WordSet containing the words in this set whose ids satisfy the given predicate.
+   */
+  public WordSet filtered( IntPredicate predicate)
+    {
+    WordSet filtered = new WordSet( words_);
+    for( int id = nextId( 0); id >= 0; id = nextId( id + 1))
+      {
+      if( predicate.test( id))
+        {
+        filtered.add( id);
+        }
+      }
+
+    return filtered;
+    }
+
+  /**
+   * Returns a new WordSet containing the words in both this set and the other set.
+   */
+  public WordSet and( WordSet other)
+    {
+    assertSameWords( other);
+    long[] bits = new long[ bits_.length];
+    for( int i = 0; i < bits.length; i++)
+      {
+      bits[i] = bits_[i] & other.bits_[i];
+      }
+
+    return new WordSet( words_, bits);
+    }
+
+  /**
+   * Returns a new WordSet containing the words in this set that are not in the other set.
+   */
+  public WordSet andNot( WordSet other)
+    {
+    assertSameWords( other);
+    long[] bits = new long[ bits_.length];
+    for( int i = 0; i < bits.length; i++)
+      {
+      bits[i] = bits_[i] & ~other.bits_[i];
+      }
+
+    return new WordSet( words_, bits);
+    }
+
+  /**
+   * Removes the words that are not in the other set. Returns this set.
+   */
+  WordSet retain( WordSet other)
+    {
+    assertSameWords( other);
+    for( int i = 0; i < bits_.length; i++)
+      {
+      bits_[i] &= other.bits_[i];
+      }
+
+    return this;
+    }
+
+  /**
+   * Removes the words that are in the other set. Returns this set.
+   */
+  WordSet discard( WordSet other)
+    {
+    assertSameWords( other);
+    for( int i = 0; i < bits_.length; i++)
+      {
+      bits_[i] &= ~other.bits_[i];
+      }
+
+    return this;
+    }
+
+  /**
+   * Returns the number of words in both this set and the other set.
+   */
+  public int intersectionSize( WordSet other)
+    {
+    assertSameWords( other);
+    int size = 0;
+    for( int i = 0; i < bits_.length; i++)
+      {
+      size += Long.bitCount( bits_[i] & other.bits_[i]);
+      }
+
+    return size;
+    }
+
+  /**
+   * Returns the number of words in this set.
+   */
+  public int size()
+    {
+    int size = 0;
+    for( long bits : bits_)
+      {
+      size += Long.bitCount( bits);
+      }
+
+    return size;
+    }
+
+  public boolean isEmpty()
+    {
+    return nextId( 0) < 0;
+    }
+
+  public boolean contains( Object word)
+    {
+    if( words_ instanceof WordList)
+      {
+      return contains( words_.indexOf( word));
+      }
+
+    for( int id = nextId( 0); id >= 0; id = nextId( id + 1))
+      {
+      if( words_.get( id).equals( word))
+        {
+        return true;
+        }
+      }
+
+    return false;
+    }
+
+  public Iterator<String> iterator()
+    {
+    return
+      new Iterator<String>()
+        {
+        public boolean hasNext()
+          {
+          return next_ >= 0;
+          }
+
+        public String next()
+          {
+          if( next_ < 0)
+            {
+            throw new NoSuchElementException();
+            }
+
+          String word = words_.get( next_);
+          next_ = nextId( next_ + 1);
+          return word;
+          }
+
+        private int next_ = nextId( 0);
+        };
+    }
+
+  /**
+   * Reports a failure if the other set is not taken from the same word list.
+   */
+  private void assertSameWords( WordSet other)
+    {
+    if( other.words_ != words_)
+      {
+      throw new IllegalArgumentException( "Can't combine sets from different word lists");
+      }
+    }
+
+  public boolean equals( Object object)
+    {
+    WordSet other =
+      object instanceof WordSet
+      ? (WordSet) object
+      : null;
+
+    return
+      other != null && other.words_ == words_
+      ? Arrays.equals( other.bits_, bits_)
+      : super.equals( object);
+    }
+
+  public int hashCode()
+    {
+    return super.hashCode();
+    }
+
+  private final List<String> words_;
+  private final long[] bits_;
+  }
@@ -10,19 +10,25 @@ package org.cornutum.wordle;
 import static org.cornutum.wordle.Rankings.*;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
@@ -41,6 +47,14 @@ public class Wordles
       {
       setInteractive( false);
       setPrintAll( false);
+      setCollapsed( false);
+      setThreads( 1);
+      setTop( 1);
+      setRanking( "combined");
+      setSolve( false);
+      setBreadth( Integer.MAX_VALUE);
+      setFormat( ResultWriter.Format.TEXT);
+      setCountsOnly( false);
       }
 
     /**
@@ -81,6 +95,168 @@ public class Wordles
         setPrintAll( true);
         }
 
+      else if( arg.equals( "-hard"))
+        {
+        setHardMode( true);
+        }
+
+      else if( arg.equals( "-collapse"))
+        {
+        setCollapsed( true);
+        }
+
+      else if( arg.equals( "-batch"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        setBatchFile( new File( args[i]));
+        }
+
+      else if( arg.equals( "-solve"))
+        {
+        setSolve( true);
+        }
+
+      else if( arg.equals( "-breadth"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        try
+          {
+          setBreadth( Integer.parseInt( args[i]));
+          }
+        catch( Exception e)
+          {
+          throwUsageException( String.format( "Invalid %s value: %s", arg, args[i]), e);
+          }
+        }
+
+      else if( arg.equals( "-g"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        setGuessFile( new File( args[i]));
+        }
+
+      else if( arg.equals( "-server"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        try
+          {
+          setServerPort( Integer.parseInt( args[i]));
+          }
+        catch( Exception e)
+          {
+          throwUsageException( String.format( "Invalid %s value: %s", arg, args[i]), e);
+          }
+        }
+
+      else if( arg.equals( "-compile"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        setCompileFile( new File( args[i]));
+        }
+
+      else if( arg.equals( "-top"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        try
+          {
+          setTop( Integer.parseInt( args[i]));
+          }
+        catch( Exception e)
+          {
+          throwUsageException( String.format( "Invalid %s value: %s", arg, args[i]), e);
+          }
+        }
+
+      else if( arg.equals( "-r"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        try
+          {
+          setRanking( args[i]);
+          }
+        catch( Exception e)
+          {
+          throwUsageException( String.format( "Invalid %s value: %s", arg, args[i]), e);
+          }
+        }
+
+      else if( arg.equals( "-format"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        try
+          {
+          setFormat( ResultWriter.Format.named( args[i]));
+          }
+        catch( Exception e)
+          {
+          throwUsageException( String.format( "Invalid %s value: %s", arg, args[i]), e);
+          }
+        }
+
+      else if( arg.equals( "-counts"))
+        {
+        setCountsOnly( true);
+        }
+
+      else if( arg.equals( "-cache"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        setCacheDir( new File( args[i]));
+        }
+
+      else if( arg.equals( "-threads"))
+        {
+        i++;
+        if( i >= args.length)
+          {
+          throwMissingValue( arg);
+          }
+        try
+          {
+          setThreads( Integer.parseInt( args[i]));
+          }
+        catch( Exception e)
+          {
+          throwUsageException( String.format( "Invalid %s value: %s", arg, args[i]), e);
+          }
+        }
+
       else
         {
         throwUsageException( String.format( "Unknown option: %s", arg));
@@ -125,24 +301,116 @@ public class Wordles
              new String[] {
                "Usage: wordles [option...] [wordFile]",
                "",
-               "Analyzes a set of Wordle guess words. If a wordFile is specified, reads guess words from",
-               "the given file. Otherwise, reads guess words from standard input",
+               "Analyzes a set of Wordle guess words. If a wordFile is specified, reads input words from",
+               "the given file. Otherwise, reads input words from standard input. Each input word must be",
+               "5 letters A-Z. Duplicate input words are ignored. Any word file can also be a compiled",
+               "word list created by the -compile option.",
                "",
                "Prints the results for the best guess to standard output. Results for other guesses can",
                "also be printed, depending on the given options.",
                "",
-               "Each guess word is analyzed by comparing it to all of the other input words, assuming the",
-               "other word is the actual Wordle target. The resulting matching clues are then used to",
+               "Each guess word is analyzed by comparing it to all of the input words, assuming the",
+               "input word is the actual Wordle target. The resulting matching clues are then used to",
                "organize all of the input words into groups. Printed results show all of the matching",
                "groups, along with statistics used to determine the rank of this guess word: the number",
                "of groups, the maximum group size, and the variance in group size.",
                "",
+               "By default, the input words are also the guess words. Use the -g option to rank a different",
+               "list of allowed guess words against the input target words.",
+               "",
                "Each option is one of the following:",
                "",
                "  -i   Interactive mode. Prompts for a new guess word and prints its results. For an empty",
                "       guess, prints the results of the next best guess from the input words. To quit, enter 'q'.",
                "",
-               "  -a   Prints results for all input words in best-first order."
+               "       To narrow down the possible targets, enter a guess word followed by the pattern of clues",
+               "       it received, for example 'crane ..yG.'. All guesses are then ranked again, using only the",
+               "       input words that match all of the patterns entered.",
+               "",
+               "  -a   Prints results for all input words in best-first order.",
+               "",
+               "  -hard",
+               "       Hard mode. In interactive mode, each guess entered with its pattern of clues must use all",
+               "       of the clues revealed so far, and only guesses that use all of these clues are ranked.",
+               "",
+               "  -collapse",
+               "       Collapses equivalent guesses. Guesses that divide the possible targets into the same",
+               "       groups are ranked only once, and the results for each ranked guess also list the other",
+               "       guesses equivalent to it. Equivalent guesses are found in the same pass that counts the",
+               "       groups for each guess, so only a small cost is added, and ranking can be faster when many",
+               "       guesses are equivalent.",
+               "",
+               "  -batch batchFile",
+               "       Reads guess words from the given file and prints statistics for each of them, in the order",
+               "       read. Each line of output gives a guess, followed by the number of groups, the maximum",
+               "       group size, and the variance in group size, separated by commas. With -format jsonl,",
+               "       prints a JSON object for each guess instead. With -collapse, also lists the guesses",
+               "       equivalent to each guess.",
+               "",
+               "  -solve",
+               "       Prints the decision tree that finds every input word with the fewest total guesses.",
+               "       Each line of the tree shows the pattern of clues received and the next guess to make.",
+               "       Every input word must also be an allowed guess.",
+               "",
+               "  -breadth count",
+               "       When solving, considers only the given number of most promising guesses for each set of",
+               "       possible targets. This solves a large word list faster, but the decision tree found may",
+               "       not be the best. By default, all guesses are considered.",
+               "",
+               "  -g guessFile",
+               "       Reads the allowed guess words from the given file. Each of these guesses is ranked by",
+               "       comparing it to the input target words.",
+               "",
+               "  -server port",
+               "       Server mode. Listens for requests from clients connected to the given port on the local",
+               "       host. All patterns are computed once and kept for all requests. Each request is a line",
+               "       of text, and each response ends with a line containing only '.'. A request is one of the",
+               "       following, where filters is a list of guess words, each followed by its pattern of clues:",
+               "",
+               "         rank [count] [filters]   Lists the best guesses and their statistics.",
+               "         groups guess [filters]   Prints the results for the given guess.",
+               "         filter [filters]         Lists the possible targets.",
+               "         quit                     Ends the client session.",
+               "",
+               "  -compile binFile",
+               "       Writes the input words to the given file as a compiled word list, then exits. A compiled",
+               "       word list is loaded much faster than a text word file.",
+               "",
+               "  -top count",
+               "       Prints results for the given number of best guesses. The default is 1.",
+               "",
+               "  -r ranking",
+               "       Ranks guess words using the given method, which is one of the following:",
+               "",
+               "         combined   By decreasing number of groups, then by increasing variance in group size,",
+               "                    then by increasing maximum group size. This is the default.",
+               "",
+               "         entropy    By decreasing entropy, i.e. the expected information (in bits) given by",
+               "                    the clues for this guess.",
+               "",
+               "         expected   By increasing expected number of possible targets remaining after this guess.",
+               "",
+               "       Guess words with the same rank are ordered alphabetically.",
+               "",
+               "  -format format",
+               "       Prints results using the given format, which is one of the following:",
+               "",
+               "         text       Human-readable lines for each guess. This is the default.",
+               "",
+               "         csv        Comma-separated values, with one line for each group and a header line.",
+               "",
+               "         jsonl      JSON Lines, with one JSON object for each guess.",
+               "",
+               "  -counts",
+               "       Prints only the number of words in each group, instead of all the words in each group.",
+               "",
+               "  -cache cacheDir",
+               "       Reuses the patterns for all pairs of input words stored in the given cache directory.",
+               "       If the cache contains no patterns for this word list, they are computed and stored.",
+               "",
+               "  -threads count",
+               "       Ranks guess words concurrently, using the given number of threads. Results are the same",
+               "       as when ranking with a single thread, which is the default."
              })
         {
         System.err.println( line);
@@ -182,248 +450,1342 @@ public class Wordles
       }
 
     /**
-     * Changes the file containing guess words.
+     * Changes if hard mode is enabled.
      */
-    public void setWordFile( File wordFile)
+    public void setHardMode( boolean enabled)
       {
-      wordFile_ = wordFile;
+      hardMode_ = enabled;
       }
 
     /**
-     * Returns the file containing guess words.
+     * Returns if hard mode is enabled.
      */
-    public File getWordFile()
+    public boolean isHardMode()
       {
-      return wordFile_;
+      return hardMode_;
       }
 
     /**
-     * Throws a IllegalArgumentException reporting a command line error.
+     * Changes if equivalent guesses are collapsed.
      */
-    private static void throwUsageException( String detail)
+    public void setCollapsed( boolean collapsed)
       {
-      throwUsageException( detail, null);
+      collapsed_ = collapsed;
       }
 
     /**
-     * Throws a IllegalArgumentException reporting a command line error.
+     * Returns if equivalent guesses are collapsed.
      */
-    private static void throwUsageException( String detail, Exception cause)
+    public boolean isCollapsed()
       {
-      throw getUsageException( detail, cause);
+      return collapsed_;
       }
 
     /**
-     * Returns an IllegalArgumentException reporting a command line error.
+     * Changes if printing the best decision tree.
      */
-    private static IllegalArgumentException getUsageException( String detail, Exception cause)
+    public void setSolve( boolean enabled)
       {
-      return
-        new IllegalArgumentException
-        ( "Invalid command line argument. For all command line details, use the -help option.",
-          new IllegalArgumentException( detail, cause));
+      solve_ = enabled;
       }
-    
-    @Override
-    public String toString()
+
+    /**
+     * Returns if printing the best decision tree.
+     */
+    public boolean isSolve()
       {
-      StringBuilder builder = new StringBuilder();
+      return solve_;
+      }
 
-      if( isInteractive())
+    /**
+     * Changes the file containing guess words to print statistics for. If null, batch mode is disabled.
+     */
+    public void setBatchFile( File batchFile)
+      {
+      batchFile_ = batchFile;
+      }
+
+    /**
+     * Returns the file containing guess words to print statistics for. If null, batch mode is disabled.
+     */
+    public File getBatchFile()
+      {
+      return batchFile_;
+      }
+
+    /**
+     * Changes the maximum number of guesses considered for each set of possible targets when solving.
+     */
+    public void setBreadth( int breadth)
+      {
+      if( breadth < 1)
         {
-        builder.append( " -i");
+        throw new IllegalArgumentException( "Breadth must be at least 1");
         }
+      breadth_ = breadth;
+      }
 
-      if( isPrintAll())
+    /**
+     * Returns the maximum number of guesses considered for each set of possible targets when solving.
+     */
+    public int getBreadth()
+      {
+      return breadth_;
+      }
+
+    /**
+     * Changes the number of best guesses printed.
+     */
+    public void setTop( int top)
+      {
+      if( top < 1)
         {
-        builder.append( " -a");
+        throw new IllegalArgumentException( "Number of best guesses must be at least 1");
         }
+      top_ = top;
+      }
 
-      if( getWordFile() != null)
+    /**
+     * Returns the number of best guesses printed.
+     */
+    public int getTop()
+      {
+      return top_;
+      }
+
+    /**
+     * Changes the name of the method used to rank guess words.
+     */
+    public void setRanking( String ranking)
+      {
+      if( !Rankings.named( ranking).isPresent())
         {
-        builder.append( " ").append( getWordFile());
+        throw new IllegalArgumentException( String.format( "Unknown ranking: %s", ranking));
         }
-      
-      return builder.toString();
+      ranking_ = ranking;
       }
 
-    private File wordFile_;
-    private boolean interactive_;
-    private boolean printAll_;
-    }
-  
-  /**
-   * Creates a new Wordles object.
-   */
-  public Wordles()
-    {
-    this( null);
-    }
-  
-  /**
-   * Creates a new Wordles object.
-   */
-  public Wordles( List<String> words)
-    {
-    words_ = Optional.ofNullable( words).orElse( emptyList()).stream().collect( toList());
-    }
+    /**
+     * Returns the name of the method used to rank guess words.
+     */
+    public String getRanking()
+      {
+      return ranking_;
+      }
 
-  /**
-   * Returns the word list to be analyzed.
-   */
-  public List<String> getWords()
-    {
-    return words_;
-    }
+    /**
+     * Returns the comparator used to rank guess words.
+     */
+    public Comparator<WordPatternGroups> getRankingComparator()
+      {
+      return Rankings.named( getRanking()).get();
+      }
 
-  /**
-   * Analyzes a set of Wordle word choices.
-   */
-  public static void main( String[] args)
-    {
-    int exitCode = 0;
-    try
+    /**
+     * Changes the format used to print results.
+     */
+    public void setFormat( ResultWriter.Format format)
       {
-      run( new Options( args));
+      format_ = format;
       }
-    catch( HelpException h)
+
+    /**
+     * Returns the format used to print results.
+     */
+    public ResultWriter.Format getFormat()
       {
-      exitCode = 1;
+      return format_;
       }
-    catch( Throwable e)
+
+    /**
+     * Changes if printing only the number of words in each group.
+     */
+    public void setCountsOnly( boolean enabled)
       {
-      exitCode = 1;
-      e.printStackTrace( System.err);
+      countsOnly_ = enabled;
       }
-    finally
+
+    /**
+     * Returns if printing only the number of words in each group.
+     */
+    public boolean isCountsOnly()
       {
-      System.exit( exitCode);
+      return countsOnly_;
       }
-    }
 
-  /**
-   * Analyzes a set of Wordle word choices, using the given options.
-   */
-  public static void run( Options options) throws Exception
-    {
-    Optional<File> wordFile = Optional.ofNullable( options.getWordFile());
-    if( options.isInteractive() && !wordFile.isPresent())
+    /**
+     * Changes the directory containing cached patterns.
+     */
+    public void setCacheDir( File cacheDir)
       {
-      System.err.println( "Can't use interactive mode when reading words from standard input");
+      cacheDir_ = cacheDir;
       }
-    else
+
+    /**
+     * Returns the directory containing cached patterns.
+     */
+    public File getCacheDir()
       {
-      Wordles wordles = new Wordles( readWords( wordFile));
-      List<WordPatternGroups> wordGroups =
-        ranked(
-          wordles.getWordPatternGroups(),
-          byCombined);
-      
-      if( wordGroups.isEmpty())
-        {
-        System.err.println( "No words entered");
-        }
-      else if( options.isPrintAll())
+      return cacheDir_;
+      }
+
+    /**
+     * Changes the number of threads used to rank guess words.
+     */
+    public void setThreads( int threads)
+      {
+      if( threads < 1)
         {
-        wordGroups.stream().forEach( wordGroup -> wordles.printWordPatternGroups( wordGroup));
+        throw new IllegalArgumentException( "Number of threads must be at least 1");
+        }
+      threads_ = threads;
+      }
+
+    /**
+     * Returns the number of threads used to rank guess words.
+     */
+    public int getThreads()
+      {
+      return threads_;
+      }
+
+    /**
+     * Changes the file containing target words.
+     */
+    public void setWordFile( File wordFile)
+      {
+      wordFile_ = wordFile;
+      }
+
+    /**
+     * Returns the file containing target words.
+     */
+    public File getWordFile()
+      {
+      return wordFile_;
+      }
+
+    /**
+     * Changes the file containing guess words. If null, the target words are also used as guess words.
+     */
+    public void setGuessFile( File guessFile)
+      {
+      guessFile_ = guessFile;
+      }
+
+    /**
+     * Returns the file containing guess words. If null, the target words are also used as guess words.
+     */
+    public File getGuessFile()
+      {
+      return guessFile_;
+      }
+
+    /**
+     * Changes the port used to listen for requests in server mode. If null, server mode is disabled.
+     */
+    public void setServerPort( Integer port)
+      {
+      if( port != null && (port < 0 || port > 65535))
+        {
+        throw new IllegalArgumentException( "Server port must be in the range [0,65535]");
+        }
+      serverPort_ = port;
+      }
+
+    /**
+     * Returns the port used to listen for requests in server mode. If null, server mode is disabled.
+     */
+    public Integer getServerPort()
+      {
+      return serverPort_;
+      }
+
+    /**
+     * Changes the file where the input words are written as a compiled word list. If null, no compiled
+     * word list is written.
+     */
+    public void setCompileFile( File compileFile)
+      {
+      compileFile_ = compileFile;
+      }
+
+    /**
+     * Returns the file where the input words are written as a compiled word list. If null, no compiled
+     * word list is written.
+     */
+    public File getCompileFile()
+      {
+      return compileFile_;
+      }
+
+    /**
+     * Throws a IllegalArgumentException reporting a missing option value.
+     */
+    private static void throwMissingValue( String option)
+      {
+      throwUsageException( String.format( "No value given for %s option", option));
+      }
+
+    /**
+     * Throws a IllegalArgumentException reporting a command line error.
+     */
+    private static void throwUsageException( String detail)
+      {
+      throwUsageException( detail, null);
+      }
+
+    /**
+     * Throws a IllegalArgumentException reporting a command line error.
+     */
+    private static void throwUsageException( String detail, Exception cause)
+      {
+      throw getUsageException( detail, cause);
+      }
+
+    /**
+     * Returns an IllegalArgumentException reporting a command line error.
+     */
+    private static IllegalArgumentException getUsageException( String detail, Exception cause)
+      {
+      return
+        new IllegalArgumentException
+        ( "Invalid command line argument. For all command line details, use the -help option.",
+          new IllegalArgumentException( detail, cause));
+      }
+    
+    @Override
+    public String toString()
+      {
+      StringBuilder builder = new StringBuilder();
+
+      if( isInteractive())
+        {
+        builder.append( " -i");
+        }
+
+      if( isPrintAll())
+        {
+        builder.append( " -a");
+        }
+
+      if( isHardMode())
+        {
+        builder.append( " -hard");
+        }
+
+      if( isCollapsed())
+        {
+        builder.append( " -collapse");
+        }
+
+      if( getBatchFile() != null)
+        {
+        builder.append( " -batch ").append( getBatchFile());
+        }
+
+      if( isSolve())
+        {
+        builder.append( " -solve");
+        }
+
+      if( getBreadth() < Integer.MAX_VALUE)
+        {
+        builder.append( " -breadth ").append( getBreadth());
+        }
+
+      if( getGuessFile() != null)
+        {
+        builder.append( " -g ").append( getGuessFile());
+        }
+
+      if( getServerPort() != null)
+        {
+        builder.append( " -server ").append( getServerPort());
+        }
+
+      if( getCompileFile() != null)
+        {
+        builder.append( " -compile ").append( getCompileFile());
+        }
+
+      if( getTop() > 1)
+        {
+        builder.append( " -top ").append( getTop());
+        }
+
+      if( !getRanking().equals( "combined"))
+        {
+        builder.append( " -r ").append( getRanking());
+        }
+
+      if( getFormat() != ResultWriter.Format.TEXT)
+        {
+        builder.append( " -format ").append( getFormat().toString().toLowerCase());
+        }
+
+      if( isCountsOnly())
+        {
+        builder.append( " -counts");
+        }
+
+      if( getCacheDir() != null)
+        {
+        builder.append( " -cache ").append( getCacheDir());
+        }
+
+      if( getThreads() > 1)
+        {
+        builder.append( " -threads ").append( getThreads());
+        }
+
+      if( getWordFile() != null)
+        {
+        builder.append( " ").append( getWordFile());
+        }
+      
+      return builder.toString();
+      }
+
+    private File wordFile_;
+    private File guessFile_;
+    private File compileFile_;
+    private File batchFile_;
+    private Integer serverPort_;
+    private File cacheDir_;
+    private String ranking_;
+    private ResultWriter.Format format_;
+    private boolean countsOnly_;
+    private boolean interactive_;
+    private boolean printAll_;
+    private boolean hardMode_;
+    private boolean collapsed_;
+    private boolean solve_;
+    private int breadth_;
+    private int threads_;
+    private int top_;
+    }
+  
+  /**
+   * Creates a new Wordles object.
+   */
+  public Wordles()
+    {
+    this( null);
+    }
+  
+  /**
+   * Creates a new Wordles object that uses the given words as both guesses and targets.
+   */
+  public Wordles( List<String> words)
+    {
+    this( words, words);
+    }
+
+  /**
+   * Creates a new Wordles object that ranks the given guesses by comparing them to the given targets.
+   * Each word must contain exactly 5 letters A-Z, ignoring case.
+   */
+  public Wordles( List<String> guesses, List<String> targets)
+    {
+    targets_ = Optional.ofNullable( targets).orElse( emptyList()).stream().map( Wordles::validWord).collect( toList());
+    guesses_ =
+      guesses == targets
+      ? targets_
+      : Optional.ofNullable( guesses).orElse( emptyList()).stream().map( Wordles::validWord).collect( toList());
+    previousEquivalents_ = null;
+    setThreads( 1);
+    }
+
+  /**
+   * Creates a new Wordles object that ranks the words in the given guess dictionary by comparing them
+   * to the words in the given target dictionary.
+   */
+  public Wordles( Dictionary guesses, Dictionary targets)
+    {
+    this( guesses.getWords(), targets.getWords());
+    }
+
+  /**
+   * Creates a new Wordles object that ranks the same guesses as the given object, but only against
+   * the given candidate targets. All patterns are shared with the given object.
+   */
+  private Wordles( Wordles wordles, WordSet candidates)
+    {
+    PatternMatrix patterns = wordles.getPatternMatrix();
+
+    guesses_ = wordles.getGuesses();
+    targets_ = candidates.stream().collect( toList());
+    candidates_ = candidates;
+    patterns_ = patterns;
+    cache_ = wordles.getPatternCache();
+    guessIndex_ = wordles.isHardMode()? wordles.getGuessIndex() : null;
+    targetIndex_ = wordles.targetIndex_;
+    collapsed_ = wordles.isCollapsed();
+    previousEquivalents_ = wordles.getEquivalentGuesses();
+    setThreads( wordles.getThreads());
+    }
+
+  /**
+   * Creates a new Wordles object that ranks the same guesses as the given object, but only against
+   * the given candidate targets, and only using the guesses that satisfy the given hard mode constraints.
+   */
+  private Wordles( Wordles wordles, WordSet candidates, Constraints constraints)
+    {
+    this( wordles, candidates);
+    constraints_ = constraints;
+    }
+
+  /**
+   * Returns the target word list to be analyzed. Same as {@link #getTargets}.
+   */
+  public List<String> getWords()
+    {
+    return getTargets();
+    }
+
+  /**
+   * Returns the possible target words.
+   */
+  public List<String> getTargets()
+    {
+    return targets_;
+    }
+
+  /**
+   * Returns the allowed guess words.
+   */
+  public List<String> getGuesses()
+    {
+    return guesses_;
+    }
+
+  /**
+   * Analyzes a set of Wordle word choices.
+   */
+  public static void main( String[] args)
+    {
+    int exitCode = 0;
+    try
+      {
+      run( new Options( args));
+      }
+    catch( HelpException h)
+      {
+      exitCode = 1;
+      }
+    catch( Throwable e)
+      {
+      exitCode = 1;
+      e.printStackTrace( System.err);
+      }
+    finally
+      {
+      System.exit( exitCode);
+      }
+    }
+
+  /**
+   * Analyzes a set of Wordle word choices, using the given options.
+   */
+  public static void run( Options options) throws Exception
+    {
+    Optional<File> wordFile = Optional.ofNullable( options.getWordFile());
+    if( options.getCompileFile() != null)
+      {
+      WordLoader.writeCompiled( readDictionary( wordFile), options.getCompileFile());
+      }
+    else if( options.isInteractive() && !wordFile.isPresent())
+      {
+      System.err.println( "Can't use interactive mode when reading words from standard input");
+      }
+    else
+      {
+      Dictionary targets = readDictionary( wordFile);
+      Optional<File> guessFile = Optional.ofNullable( options.getGuessFile());
+      Wordles wordles = new Wordles( guessFile.isPresent()? readDictionary( guessFile) : targets, targets);
+      Optional.ofNullable( options.getCacheDir()).ifPresent( cacheDir -> wordles.setPatternCache( new PatternCache( cacheDir)));
+      wordles.setThreads( options.getThreads());
+      wordles.setHardMode( options.isHardMode());
+      wordles.setCollapsed( options.isCollapsed());
+      if( options.isSolve())
+        {
+        solve( wordles, options.getBreadth());
+        return;
+        }
+
+      if( options.getBatchFile() != null)
+        {
+        batch( wordles, readWords( Optional.of( options.getBatchFile())), options);
+        return;
+        }
+
+      Comparator<WordPatternGroups> ranking = options.getRankingComparator();
+      if( options.getServerPort() != null)
+        {
+        serve( wordles, ranking, options.getServerPort());
+        return;
+        }
+
+      ResultWriter results =
+        new ResultWriter(
+          new BufferedWriter( new OutputStreamWriter( System.out), OUTPUT_BUFFER_SIZE),
+          options.getFormat(),
+          options.isCountsOnly(),
+          options.isCollapsed());
+
+      if( options.isInteractive() && !options.isPrintAll())
+        {
+        // Show the best guess as soon as it is known, ranking the others only on demand.
+        RankedIterator ranked = wordles.getRankedWordPatternGroups( ranking);
+        if( !ranked.hasNext())
+          {
+          System.err.println( "No words entered");
+          }
+        else
+          {
+          results.write( ranked.next());
+          interact( wordles, ranking, ranked, results);
+          }
+        results.flush();
+        return;
+        }
+
+      List<WordPatternGroups> wordGroups =
+        options.isPrintAll()
+        ? rankedByKey( wordles.getWordPatternGroups(), ranking)
+        : wordles.getBestWordPatternGroups( ranking, options.getTop());
+      
+      if( wordGroups.isEmpty())
+        {
+        System.err.println( "No words entered");
+        }
+      else
+        {
+        wordGroups.stream().forEach( results::write);
+        }
+      results.flush();
+      }
+    }
+
+  /**
+   * Prints the decision tree that finds every target with the fewest total guesses.
+   */
+  private static void solve( Wordles wordles, int breadth)
+    {
+    DecisionTree tree = wordles.getDecisionTree( breadth);
+    if( tree == null)
+      {
+      System.err.println( "No words entered");
+      }
+    else
+      {
+      wordles.printDecisionTree( tree, new OutputStreamWriter( System.out));
+      }
+    }
+
+  /**
+   * Prints statistics for each of the given guesses. Statistics are printed as comma-separated values, unless the
+   * JSON Lines format is selected.
+   */
+  private static void batch( Wordles wordles, List<String> guesses, Options options)
+    {
+    ResultWriter results =
+      new ResultWriter(
+        new BufferedWriter( new OutputStreamWriter( System.out), OUTPUT_BUFFER_SIZE),
+        options.getFormat() == ResultWriter.Format.JSONL? ResultWriter.Format.JSONL : ResultWriter.Format.CSV,
+        true,
+        options.isCollapsed());
+
+    wordles.getWordPatternGroups( guesses).forEach( results::writeStatistics);
+    results.flush();
+    }
+
+  /**
+   * Answers client requests on the given port until the server is stopped.
+   */
+  private static void serve( Wordles wordles, Comparator<WordPatternGroups> ranking, int port) throws IOException
+    {
+    try( WordlesServer server = new WordlesServer( wordles, ranking))
+      {
+      server.bind( port);
+      System.err.println( String.format( "Listening on port %s", server.getPort()));
+      server.run();
+      }
+    }
+
+  /**
+   * Prompts for new guesses and prints their results, continuing with the given ranked pattern groups.
+   * When a guess is entered together with its pattern of clues, narrows the possible targets to those
+   * that match and re-ranks all guesses against the remaining targets.
+   */
+  private static void interact( Wordles wordles, Comparator<WordPatternGroups> ranking, RankedIterator wordGroups, ResultWriter results) throws IOException
+    {
+    PrintWriter prompter = new PrintWriter( new OutputStreamWriter( System.out), true);
+    BufferedReader reader = new BufferedReader( new InputStreamReader( System.in));
+
+    Wordles candidates = wordles;
+    RankedIterator ranked = wordGroups;
+    boolean showMore = true;
+    while( showMore)
+      {
+      results.flush();
+      prompter.print( "\nNext guess? ");
+      prompter.flush();
+
+      String nextGuess =
+        Optional.ofNullable( reader.readLine())
+        .map( String::trim)
+        .filter( guess -> !guess.equalsIgnoreCase( "q"))
+        .orElse( null);
+
+      if( nextGuess == null || (nextGuess.isEmpty() && !ranked.hasNext()))
+        {
+        showMore = false;
+        }
+      else if( nextGuess.isEmpty())
+        {
+        results.write( ranked.next());
         }
       else
         {
-        int nextWord = 0;
-        wordles.printWordPatternGroups( wordGroups.get( nextWord++));
+        try
+          {
+          String[] entry = nextGuess.split( "\\s+");
+          if( entry.length > 2)
+            {
+            throw new IllegalArgumentException( String.format( "'%s' is not a guess word followed by its pattern", nextGuess));
+            }
+          else if( entry.length == 2)
+            {
+            String guess = guessWord( entry[0]);
+            WordPattern pattern = guessPattern( entry[1]);
+            Wordles narrowed = candidates.narrowed( guess, pattern);
+            if( narrowed.getTargets().isEmpty())
+              {
+              throw new IllegalArgumentException( String.format( "No possible target matches %s %s", guess, pattern));
+              }
+
+            candidates = narrowed;
+            ranked = candidates.getRankedWordPatternGroups( ranking);
+            prompter.println( String.format( "%s possible target%s remaining", candidates.getTargets().size(), candidates.getTargets().size() == 1? "" : "s"));
+            if( candidates.isHardMode())
+              {
+              int legal = candidates.getLegalGuesses().size();
+              prompter.println( String.format( "%s legal guess%s remaining", legal, legal == 1? "" : "es"));
+              }
+            if( ranked.hasNext())
+              {
+              results.write( ranked.next());
+              }
+            }
+          else
+            {
+            results.write( candidates.getWordPatternGroups( guessWord( nextGuess)));
+            }
+          }
+        catch( IllegalArgumentException e)
+          {
+          prompter.println( String.format( "%s. Try again.", e.getMessage()));
+          }
+        } 
+      }
+    }
+
+  /**
+   * Prints the word pattern groups for the given guess to standard output
+   */
+  public void printWordPatternGroups( String guess)
+    {
+    printWordPatternGroups( getWordPatternGroups( guess.trim().toUpperCase()), new OutputStreamWriter( System.out));
+    }
+
+  /**
+   * Prints the given word pattern groups to standard output
+   */
+  public void printWordPatternGroups( WordPatternGroups patternGroups)
+    {
+    printWordPatternGroups( patternGroups, new OutputStreamWriter( System.out));
+    }
+
+  /**
+   * Prints the given word pattern groups to the given stream.
+   */
+  public void printWordPatternGroups( WordPatternGroups patternGroups, Writer stream)
+    {
+    ResultWriter writer = new ResultWriter( stream, ResultWriter.Format.TEXT, false);
+    writer.write( patternGroups);
+    writer.flush();
+    }
+
+  /**
+   * Prints the given decision tree to the given stream.
+   */
+  public void printDecisionTree( DecisionTree tree, Writer stream)
+    {
+    PrintWriter writer = new PrintWriter( stream);
+    writer.println( String.format( "Average guesses: %.3f (%d / %d)", tree.getAverageGuesses(), tree.getTotalGuesses(), tree.getTargetCount()));
+    writer.println( String.format( "Maximum guesses: %d", tree.getMaxGuesses()));
+    writer.println();
+    writer.println( tree.getGuess());
+    printBranches( tree, writer, "  ");
+    writer.flush();
+    }
+
+  /**
+   * Prints the branches of the given decision tree to the given writer.
+   */
+  private void printBranches( DecisionTree tree, PrintWriter writer, String indent)
+    {
+    for( Map.Entry<WordPattern,DecisionTree> branch : tree.getBranches().entrySet())
+      {
+      writer.println( String.format( "%s%s %s", indent, branch.getKey(), branch.getValue().getGuess()));
+      printBranches( branch.getValue(), writer, indent + "  ");
+      }
+    }
+
+  /**
+   * Changes the number of threads used to rank guess words.
+   */
+  public void setThreads( int threads)
+    {
+    if( threads < 1)
+      {
+      throw new IllegalArgumentException( "Number of threads must be at least 1");
+      }
+    threads_ = threads;
+    }
+
+  /**
+   * Returns the number of threads used to rank guess words.
+   */
+  public int getThreads()
+    {
+    return threads_;
+    }
+
+  /**
+   * Changes the cache used to store the patterns for this word list.
+   */
+  public void setPatternCache( PatternCache cache)
+    {
+    cache_ = cache;
+    }
+
+  /**
+   * Returns the cache used to store the patterns for this word list.
+   */
+  public PatternCache getPatternCache()
+    {
+    return cache_;
+    }
+
+  /**
+   * Returns the patterns for all guess words compared to all target words.
+   */
+  public PatternMatrix getPatternMatrix()
+    {
+    PatternMatrix patterns = patterns_;
+    if( patterns == null)
+      {
+      synchronized( this)
+        {
+        if( (patterns = patterns_) == null)
+          {
+          boolean parallel = getThreads() > 1;
+          patterns = patterns_ =
+            withThreads( () -> {
+              try
+                {
+                return
+                  getPatternCache() == null
+                  ? new PatternMatrix( getGuesses(), getTargets(), parallel)
+                  : getPatternCache().getPatternMatrix( getGuesses(), getTargets(), parallel);
+                }
+              catch( IOException e)
+                {
+                throw new IllegalStateException( String.format( "Can't get patterns from %s", getPatternCache()), e);
+                }
+              });
+          }
+        }
+      }
+
+    return patterns;
+    }
+
+  /**
+   * Returns a new Wordles object that ranks the same guesses, but only against the current target words
+   * that match the given pattern for the given guess. The new object reuses the patterns already computed
+   * for this object.
+   */
+  public Wordles narrowed( String guess, WordPattern pattern)
+    {
+    if( isHardMode() && !getConstraints().isSatisfiedBy( guess))
+      {
+      throw new IllegalArgumentException( String.format( "%s does not use all of the clues revealed so far", guess));
+      }
+
+    return
+      new Wordles(
+        this,
+        getCandidates().and( getTargetIndex().matching( guess, pattern)),
+        isHardMode()? getConstraints().with( guess, pattern) : null);
+    }
+
+  /**
+   * Returns the letter index for all target words.
+   */
+  private LetterIndex getTargetIndex()
+    {
+    LetterIndex targetIndex = targetIndex_;
+    if( targetIndex == null)
+      {
+      synchronized( this)
+        {
+        if( (targetIndex = targetIndex_) == null)
+          {
+          targetIndex = targetIndex_ = new LetterIndex( getPatternMatrix().getTargets());
+          }
+        }
+      }
+
+    return targetIndex;
+    }
+
+  /**
+   * Changes if hard mode is enabled. In hard mode, only guesses that satisfy the {@link Constraints} given by
+   * all previous guesses are ranked.
+   */
+  public void setHardMode( boolean enabled)
+    {
+    constraints_ = enabled? new Constraints() : null;
+    legalGuesses_ = null;
+    equivalents_ = null;
+    }
+
+  /**
+   * Returns if hard mode is enabled.
+   */
+  public boolean isHardMode()
+    {
+    return constraints_ != null;
+    }
+
+  /**
+   * Returns the hard mode constraints on guesses. Returns null if hard mode is not enabled.
+   */
+  public Constraints getConstraints()
+    {
+    return constraints_;
+    }
+
+  /**
+   * Returns the guesses that satisfy the hard mode constraints, identified by their ids in the pattern matrix.
+   * Returns null if hard mode is not enabled.
+   */
+  public WordSet getLegalGuesses()
+    {
+    WordSet legalGuesses = legalGuesses_;
+    if( legalGuesses == null && isHardMode())
+      {
+      synchronized( this)
+        {
+        if( (legalGuesses = legalGuesses_) == null)
+          {
+          legalGuesses = legalGuesses_ = getGuessIndex().matching( getConstraints());
+          }
+        }
+      }
+
+    return legalGuesses;
+    }
+
+  /**
+   * Returns the letter index for all guess words.
+   */
+  private LetterIndex getGuessIndex()
+    {
+    LetterIndex guessIndex = guessIndex_;
+    if( guessIndex == null)
+      {
+      synchronized( this)
+        {
+        if( (guessIndex = guessIndex_) == null)
+          {
+          guessIndex = guessIndex_ = new LetterIndex( getPatternMatrix().getGuesses());
+          }
+        }
+      }
+
+    return guessIndex;
+    }
+
+  /**
+   * Changes if equivalent guesses are collapsed. When collapsed, guesses that give the same partition of the current targets
+   * are ranked only once. Only the first of these guesses is ranked, and its pattern groups list the others as
+   * {@link WordPatternGroups#getEquivalents equivalents}.
+   */
+  public void setCollapsed( boolean collapsed)
+    {
+    collapsed_ = collapsed;
+    equivalents_ = null;
+    }
+
+  /**
+   * Returns if equivalent guesses are collapsed.
+   */
+  public boolean isCollapsed()
+    {
+    return collapsed_;
+    }
 
-        if( options.isInteractive())
+  /**
+   * Returns the classes of {@link EquivalentGuesses equivalent guesses} for the current targets, indexed by guess id. Each guess
+   * is mapped to the members of its class, in order of increasing id, so the first member is the guess ranked for this class. An
+   * illegal guess in hard mode is mapped to null. Returns null if equivalent guesses are not collapsed.
+   */
+  private int[][] getEquivalentGuesses()
+    {
+    int[][] equivalents = equivalents_;
+    if( equivalents == null && isCollapsed())
+      {
+      synchronized( this)
+        {
+        if( (equivalents = equivalents_) == null)
           {
-          PrintWriter prompter = new PrintWriter( new OutputStreamWriter( System.out), true);
-          BufferedReader reader = new BufferedReader( new InputStreamReader( System.in));
+          equivalents = equivalents_ = equivalentGuesses();
+          }
+        }
+      }
 
-          boolean showMore = true;
-          while( showMore)
-            {
-            prompter.print( "\nNext guess? ");
-            prompter.flush();
+    return equivalents;
+    }
 
-            String nextGuess =
-              Optional.ofNullable( reader.readLine())
-              .map( String::trim)
-              .filter( guess -> !guess.equalsIgnoreCase( "q"))
-              .orElse( null);
+  /**
+   * Returns the classes of {@link EquivalentGuesses equivalent guesses} for the current targets, indexed by guess id.
+   * <P/>
+   * Only a few guesses need to be compared. A guess that is also a possible target is the only guess that can find this target,
+   * so its class contains only this guess. Also, guesses that are equivalent for a set of targets remain equivalent for any
+   * subset of these targets. So after the targets are narrowed, the classes found for the previous targets can only merge,
+   * and only the first legal guess in each previous class needs to be compared.
+   * <P/>
+   * The statistics for each compared guess are counted in the same pass over its row that finds its hash. The statistics
+   * for each class representative are kept until this guess is next ranked, so its row is not read again.
+   */
+  private int[][] equivalentGuesses()
+    {
+    PatternMatrix patterns = getPatternMatrix();
+    int[] candidates = getCandidates().getIds();
+    WordSet legalGuesses = getLegalGuesses();
+    int[][] previous = previousEquivalents_;
 
-            if( nextGuess == null || (nextGuess.isEmpty() && nextWord >= wordGroups.size()))
-              {
-              showMore = false;
-              }
-            else if( nextGuess.isEmpty())
-              {
-              wordles.printWordPatternGroups( wordGroups.get( nextWord++));
-              }
-            else
-              {
-              try
-                {
-                wordles.printWordPatternGroups( guessWord( nextGuess));
-                }
-              catch( IllegalArgumentException e)
-                {
-                prompter.println( String.format( "%s. Try again.", e.getMessage()));
-                }
-              } 
+    boolean[] targeted = new boolean[ patterns.getGuessCount()];
+    List<String> targets = patterns.getTargets();
+    for( int target : candidates)
+      {
+      int guess = patterns.getGuessId( targets.get( target));
+      if( guess >= 0)
+        {
+        targeted[ guess] = true;
+        }
+      }
+
+    int[] legal =
+      legalGuesses == null
+      ? IntStream.range( 0, patterns.getGuessCount()).toArray()
+      : legalGuesses.ids().toArray();
+    int[] compared = new int[ legal.length];
+    int count = 0;
+    for( int guess : legal)
+      {
+      if( !targeted[ guess] && (previous == null || previous[ guess] == null || firstLegal( previous[ guess], legalGuesses) == guess))
+        {
+        compared[ count++] = guess;
+        }
+      }
+    int[] guesses = Arrays.copyOf( compared, count);
+
+    // Count the statistics for each guess in the same pass over its row that finds its hash.
+    WordPatternGroups[] statistics = new WordPatternGroups[ count];
+    EquivalentGuesses classes = new EquivalentGuesses( patterns, candidates);
+    long[] hashes;
+    if( getThreads() == 1)
+      {
+      hashes = new long[ count];
+      for( int i = 0; i < count; i++)
+        {
+        hashes[i] = classes.hashOf( guesses[i], statistics[i] = newWordPatternStatistics( patterns, candidates, guesses[i]));
+        }
+      }
+    else
+      {
+      // Hash guesses in parallel, using separate working storage for each thread, then add them in order.
+      ThreadLocal<EquivalentGuesses> hashers = ThreadLocal.withInitial( () -> new EquivalentGuesses( patterns, candidates));
+      hashes =
+        withThreads( () ->
+          IntStream.range( 0, guesses.length).parallel()
+          .mapToLong( i -> hashers.get().hashOf( guesses[i], statistics[i] = newWordPatternStatistics( patterns, candidates, guesses[i])))
+          .toArray());
+      }
+
+    // Keep the statistics only for the representative of each class, which is the guess ranked for this class.
+    AtomicReferenceArray<WordPatternGroups> collapsedStatistics = new AtomicReferenceArray<WordPatternGroups>( patterns.getGuessCount());
+    for( int i = 0; i < count; i++)
+      {
+      if( classes.add( guesses[i], hashes[i]) == guesses[i])
+        {
+        collapsedStatistics.set( guesses[i], statistics[i]);
+        }
+      statistics[i] = null;
+      }
+    collapsedStatistics_ = collapsedStatistics;
+
+    int[][] equivalents = new int[ patterns.getGuessCount()][];
+    for( int guess : legal)
+      {
+      if( targeted[ guess])
+        {
+        equivalents[ guess] = new int[]{ guess};
+        }
+      }
+    for( int c = 0; c < classes.getClassCount(); c++)
+      {
+      int[] members = classes.getMembers( c);
+      if( previous != null)
+        {
+        members = previousMembers( members, previous, legalGuesses);
+        }
+      for( int member : members)
+        {
+        equivalents[ member] = members;
+        }
+      }
+
+    return equivalents;
+    }
+
+  /**
+   * Returns the legal members of the previous classes of the given guesses, in order of increasing id.
+   */
+  private static int[] previousMembers( int[] guesses, int[][] previous, WordSet legalGuesses)
+    {
+    // Usually, a class contains only one previous class, and all of its members are still legal.
+    int[] first = previous[ guesses[0]];
+    if( guesses.length == 1 && (first == null || legalGuesses == null))
+      {
+      return first == null? guesses : first;
+      }
+
+    int count = 0;
+    for( int guess : guesses)
+      {
+      count += previous[ guess] == null? 1 : previous[ guess].length;
+      }
+
+    int[] members = new int[ count];
+    count = 0;
+    for( int guess : guesses)
+      {
+      if( previous[ guess] == null)
+        {
+        members[ count++] = guess;
+        }
+      else
+        {
+        for( int member : previous[ guess])
+          {
+          if( isLegal( member, legalGuesses))
+            {
+            members[ count++] = member;
             }
           }
         }
       }
+
+    members = Arrays.copyOf( members, count);
+    if( guesses.length > 1)
+      {
+      Arrays.sort( members);
+      }
+
+    return members;
     }
 
   /**
-   * Prints the word pattern groups for the given guess to standard output
+   * Returns the first legal guess in the given class.
    */
-  public void printWordPatternGroups( String guess)
+  private static int firstLegal( int[] members, WordSet legalGuesses)
     {
-    printWordPatternGroups( getWordPatternGroups( guess.trim().toUpperCase()), new OutputStreamWriter( System.out));
+    int first = 0;
+    while( !isLegal( members[ first], legalGuesses))
+      {
+      first++;
+      }
+
+    return members[ first];
     }
 
   /**
-   * Prints the given word pattern groups to standard output
+   * Returns if the given guess is one of the given legal guesses. If <CODE>legalGuesses</CODE> is null, all guesses are legal.
    */
-  public void printWordPatternGroups( WordPatternGroups patternGroups)
+  private static boolean isLegal( int guess, WordSet legalGuesses)
     {
-    printWordPatternGroups( patternGroups, new OutputStreamWriter( System.out));
+    return legalGuesses == null || legalGuesses.contains( guess);
     }
 
   /**
-   * Prints the given word pattern groups to the given stream.
+   * Returns a decision tree that finds each current target word with the fewest total guesses, considering at most
+   * the given number of guesses for each set of possible targets. Returns null if there are no target words.
    */
-  public void printWordPatternGroups( WordPatternGroups patternGroups, Writer stream)
+  public DecisionTree getDecisionTree( int breadth)
     {
-    PrintWriter writer = new PrintWriter( stream, true);
-    writer.println();
-    writer.println(
-      String.format(
-        "%s %20s",
-        patternGroups.getGuess(),
-        String.format( "[ %d | %d | %.3f ]", patternGroups.getSize(), patternGroups.getMax(), patternGroups.getVariance())));
-    writer.println( "--------------------------");
-    patternGroups.getGroups().entrySet().stream()
-      .sorted( groupPrintOrder_)
-      .forEach( e -> {
-        writer.println();
-        writer.println( String.format( "  %s", e.getKey()));
-        for( String word : e.getValue())
+    Solver solver = new Solver( getPatternMatrix());
+    solver.setBreadth( breadth);
+    return solver.solve( getCandidates().getIds());
+    }
+
+  /**
+   * Returns the current target words, identified by their ids in the pattern matrix.
+   */
+  private WordSet getCandidates()
+    {
+    WordSet candidates = candidates_;
+    if( candidates == null)
+      {
+      synchronized( this)
+        {
+        if( (candidates = candidates_) == null)
           {
-          writer.println( String.format( "    %s", word));
+          candidates = candidates_ = WordSet.allOf( getPatternMatrix().getTargets());
           }
-        });
+        }
+      }
+
+    return candidates;
     }
 
   /**
-   * Returns the word pattern groups for each member of this word list.
+   * Returns the word pattern groups for each guess word. The results are statistics-only
+   * {@link WordPatternGroups}, which create the actual pattern groups on demand.
    */
   public List<WordPatternGroups> getWordPatternGroups()
+    {
+    PatternMatrix patterns = getPatternMatrix();
+    int[] candidates = getCandidates().getIds();
+    return
+      withThreads( () ->
+        guessIds( patterns)
+        .mapToObj( guess -> getRankedStatistics( patterns, candidates, guess))
+        .collect( toList()));
+    }
+
+  /**
+   * Returns the word pattern groups for each of the given guesses, in the same order. The results for
+   * allowed guess words are statistics-only {@link WordPatternGroups}, which create the actual pattern groups on demand.
+   */
+  public List<WordPatternGroups> getWordPatternGroups( List<String> guesses)
+    {
+    PatternMatrix patterns = getPatternMatrix();
+    int[] candidates = getCandidates().getIds();
+    return
+      withThreads( () ->
+        (getThreads() > 1? guesses.parallelStream() : guesses.stream())
+        .map( guess -> {
+          int guessId = patterns.getGuessId( guess);
+          return
+            guessId >= 0
+            ? getRankedStatistics( patterns, candidates, guessId)
+            : getWordPatternGroups( guess);
+          })
+        .collect( toList()));
+    }
+
+  /**
+   * Returns the word pattern groups for the given number of best guesses, ranked by the given comparator.
+   * Pattern groups for other guesses are discarded as soon as they are ranked.
+   */
+  public List<WordPatternGroups> getBestWordPatternGroups( Comparator<WordPatternGroups> comparator, int count)
+    {
+    PatternMatrix patterns = getPatternMatrix();
+    int[] candidates = getCandidates().getIds();
+    return
+      withThreads( () ->
+        guessIds( patterns)
+        .collect(
+          () -> new TopRanked<WordPatternGroups>( count, comparator),
+          (top, guess) -> top.add( guess, getRankedStatistics( patterns, candidates, guess)),
+          TopRanked::addAll)
+        .getRanked());
+    }
+
+  /**
+   * Returns the word pattern groups for all guesses, ranked by the given comparator and created one at a time as
+   * they are iterated. If a {@link RankingKey} is defined for this comparator, only the key for each guess is kept
+   * until its pattern groups are returned. Otherwise, all pattern groups are ranked before the first is returned.
+   */
+  public RankedIterator getRankedWordPatternGroups( Comparator<WordPatternGroups> comparator)
+    {
+    Optional<RankingKey> rankingKey = rankingKey( comparator);
+    if( !rankingKey.isPresent())
+      {
+      List<WordPatternGroups> ranked = rankedByKey( getWordPatternGroups(), comparator);
+      return new RankedIterator( IntStream.range( 0, ranked.size()).asLongStream().toArray(), null, ranked::get);
+      }
+
+    PatternMatrix patterns = getPatternMatrix();
+    int[] candidates = getCandidates().getIds();
+    int[] guessIds = guessIds( patterns).sequential().toArray();
+    List<String> guesses = patterns.getGuesses();
+    return
+      new RankedIterator(
+        rankingKeys( rankingKey.get(), patterns, candidates, guessIds),
+        rankingKey.get().isByGuess()? i -> guesses.get( guessIds[i]) : null,
+        i -> getRankedStatistics( patterns, candidates, guessIds[i]));
+    }
+
+  /**
+   * Returns all guess words, ranked by the given comparator. Only the ranking key for each guess is kept while ranking,
+   * so no pattern groups are kept. If no {@link RankingKey} is defined for this comparator, all pattern groups are ranked
+   * and then discarded.
+   */
+  public List<String> getRankedGuesses( Comparator<WordPatternGroups> comparator)
+    {
+    Optional<RankingKey> rankingKey = rankingKey( comparator);
+    if( !rankingKey.isPresent())
+      {
+      return rankedByKey( getWordPatternGroups(), comparator).stream().map( WordPatternGroups::getGuess).collect( toList());
+      }
+
+    PatternMatrix patterns = getPatternMatrix();
+    int[] candidates = getCandidates().getIds();
+    int[] guessIds = guessIds( patterns).sequential().toArray();
+    List<String> guesses = patterns.getGuesses();
+    RankedIterator ranked =
+      new RankedIterator(
+        rankingKeys( rankingKey.get(), patterns, candidates, guessIds),
+        rankingKey.get().isByGuess()? i -> guesses.get( guessIds[i]) : null,
+        null);
+
+    List<String> rankedGuesses = new ArrayList<String>( ranked.getCount());
+    while( ranked.hasNext())
+      {
+      rankedGuesses.add( guesses.get( guessIds[ ranked.nextPosition()]));
+      }
+
+    return rankedGuesses;
+    }
+
+  /**
+   * Returns the value of the given ranking key for each of the given guess ids, compared to the given target ids.
+   */
+  private long[] rankingKeys( RankingKey rankingKey, PatternMatrix patterns, int[] candidates, int[] guessIds)
     {
     return
-      getWords().stream()
-      .map( word -> getWordPatternGroups( word))
-      .collect( toList());
+      withThreads( () ->
+        (getThreads() > 1? IntStream.of( guessIds).parallel() : IntStream.of( guessIds))
+        .mapToLong( guess -> rankingKey.keyOf( getWordPatternStatistics( patterns, candidates, guess)))
+        .toArray());
     }
 
   /**
@@ -431,81 +1793,257 @@ public class Wordles
    */
   protected WordPatternGroups getWordPatternGroups( String guess)
     {
-    WordPatternGroups groups = new WordPatternGroups( guess);
+    PatternMatrix patterns = getPatternMatrix();
+    int guessId = patterns.getGuessId( guess);
 
-    for( String word : getWords())
+    WordPatternGroups groups;
+    if( guessId >= 0)
+      {
+      groups = getWordPatternGroups( patterns, getCandidates().getIds(), guessId);
+      }
+    else
       {
-      groups.addPattern( word);
+      List<String> targets = patterns.getTargets();
+      groups = new WordPatternGroups( guess, targets);
+      for( int target : getCandidates().getIds())
+        {
+        groups.addPattern( WordPattern.patternCode( targets.get( target), guess), target);
+        }
       }
     
     return groups;
     }
 
   /**
-   * Reads a list of words.
+   * Returns the ids of all guess words allowed, using a parallel stream if multiple threads are used. If equivalent
+   * guesses are collapsed, returns only the first guess of each class of equivalent guesses.
    */
-  protected static List<String> readWords( Optional<File> wordFile) throws IOException
+  private IntStream guessIds( PatternMatrix patterns)
+    {
+    WordSet legalGuesses = getLegalGuesses();
+    int[][] equivalents = getEquivalentGuesses();
+    IntStream guesses =
+      equivalents != null
+      ? IntStream.range( 0, equivalents.length).filter( guess -> equivalents[ guess] != null && equivalents[ guess][0] == guess)
+      : legalGuesses == null
+      ? IntStream.range( 0, patterns.getGuessCount())
+      : legalGuesses.ids();
+    return getThreads() > 1? guesses.parallel() : guesses;
+    }
+
+  /**
+   * Returns the result of the given task. If multiple threads are used, the task is run by the
+   * {@link #getPool shared ForkJoinPool} for this number of threads, which also runs any parallel streams
+   * started by this task.
+   */
+  private <T> T withThreads( Supplier<T> task)
     {
-    try( BufferedReader reader = wordReader( wordFile))
+    if( getThreads() == 1)
+      {
+      return task.get();
+      }
+
+    try
+      {
+      return getPool( getThreads()).submit( task::get).get();
+      }
+    catch( ExecutionException e)
+      {
+      throw
+        e.getCause() instanceof RuntimeException
+        ? (RuntimeException) e.getCause()
+        : new IllegalStateException( "Can't complete task", e.getCause());
+      }
+    catch( InterruptedException e)
       {
-      return readWords( reader);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException( "Task interrupted", e);
       }
     }
 
   /**
-   * Reads a list of words.
+   * Returns the ForkJoinPool that runs tasks using the given number of threads. A single pool for each number of
+   * threads is created when first needed and then shared by all Wordles objects. Idle pool threads are stopped
+   * automatically.
+   */
+  private static ForkJoinPool getPool( int threads)
+    {
+    return pools_.computeIfAbsent( threads, ForkJoinPool::new);
+    }
+
+  /**
+   * Returns the statistics-only word pattern groups for the given guess word id, compared to the given
+   * target ids. The actual pattern groups are created only if needed to print the results for this guess.
+   */
+  private WordPatternGroups getWordPatternStatistics( PatternMatrix patterns, int[] candidates, int guessId)
+    {
+    WordPatternGroups groups = takeCollapsedStatistics( guessId);
+    if( groups == null)
+      {
+      groups = newWordPatternStatistics( patterns, candidates, guessId);
+      for( int target : candidates)
+        {
+        groups.addPattern( patterns.getCode( guessId, target), target);
+        }
+      }
+    
+    return groups;
+    }
+
+  /**
+   * Returns new empty statistics-only word pattern groups for the given guess word id, compared to the given
+   * target ids.
+   */
+  private WordPatternGroups newWordPatternStatistics( PatternMatrix patterns, int[] candidates, int guessId)
+    {
+    return new WordPatternGroups( patterns.getGuesses().get( guessId), () -> getWordPatternGroups( patterns, candidates, guessId).getGroups());
+    }
+
+  /**
+   * Returns the statistics counted for the given guess word id when equivalent guesses were collapsed. Returns null if
+   * these statistics are not available. The statistics for each guess are returned at most once and then discarded.
+   */
+  private WordPatternGroups takeCollapsedStatistics( int guessId)
+    {
+    AtomicReferenceArray<WordPatternGroups> collapsedStatistics = collapsedStatistics_;
+    return
+      collapsedStatistics == null
+      ? null
+      : collapsedStatistics.getAndSet( guessId, null);
+    }
+
+  /**
+   * Returns the statistics-only word pattern groups for the given guess word id, compared to the given target ids.
+   * If equivalent guesses are collapsed, the results also list the other guesses in the class of this guess.
    */
-  private static List<String> readWords( BufferedReader reader) throws IOException
+  private WordPatternGroups getRankedStatistics( PatternMatrix patterns, int[] candidates, int guessId)
     {
-    List<String> words = new ArrayList<String>();
+    WordPatternGroups groups = getWordPatternStatistics( patterns, candidates, guessId);
 
-    for( String nextLine = reader.readLine(); nextLine != null; nextLine = reader.readLine())
+    int[][] equivalents = getEquivalentGuesses();
+    if( equivalents != null)
       {
-      for( String nextWord : nextLine.trim().split( "\\s+"))
+      int[] members = Optional.ofNullable( equivalents[ guessId]).orElse( new int[0]);
+      for( int member : members)
         {
-        if( !nextWord.isEmpty())
+        if( member != guessId)
           {
-          words.add( guessWord( nextWord));
+          groups.addEquivalent( patterns.getGuesses().get( member));
           }
         }
       }
     
-    return words;
+    return groups;
+    }
+
+  /**
+   * Returns the word pattern groups for the given guess word id, compared to the given target ids.
+   */
+  private WordPatternGroups getWordPatternGroups( PatternMatrix patterns, int[] candidates, int guessId)
+    {
+    WordPatternGroups groups = new WordPatternGroups( patterns.getGuesses().get( guessId), patterns.getTargets());
+
+    for( int target : candidates)
+      {
+      groups.addPattern( patterns.getCode( guessId, target), target);
+      }
+    
+    return groups;
+    }
+
+  /**
+   * Reads a list of words.
+   */
+  protected static List<String> readWords( Optional<File> wordFile) throws IOException
+    {
+    return IntStream.of( readPacked( wordFile)).mapToObj( Dictionary::unpack).collect( toList());
+    }
+
+  /**
+   * Reads a dictionary of words.
+   */
+  protected static Dictionary readDictionary( Optional<File> wordFile) throws IOException
+    {
+    return
+      wordFile.isPresent()
+      ? WordLoader.readDictionary( wordFile.get())
+      : Dictionary.ofPacked( WordLoader.readPacked( System.in));
+    }
+
+  /**
+   * Reads a list of packed words.
+   */
+  private static int[] readPacked( Optional<File> wordFile) throws IOException
+    {
+    return
+      wordFile.isPresent()
+      ? WordLoader.readPacked( wordFile.get())
+      : WordLoader.readPacked( System.in);
     }
 
   /**
    * Returns the nominal form of the given guess word. Throws an exception if this is not a valid guess word.
    */
-  private static String guessWord( String word)
+  static String guessWord( String word)
     {
     if( word.length() != 5)
       {
       throw new IllegalArgumentException( String.format( "'%s' is not a 5-letter word", word));
       }
-    if( !IntStream.range( 0, 5).map( i -> (int) word.charAt( i)).allMatch( Character::isAlphabetic))
+    if( !Dictionary.isPackable( word))
       {
-      throw new IllegalArgumentException( String.format( "'%s' contains non-alphabetic chars", word));
+      throw new IllegalArgumentException( String.format( "'%s' contains chars other than A-Z", word));
       }
           
-    return word.toUpperCase();
+    return word.toUpperCase( Locale.ROOT);
     }
 
   /**
-   * Returns a reader for the contents of the given word file
+   * Returns the given word. Throws an exception if this word does not contain exactly 5 letters A-Z, ignoring case.
    */
-  private static BufferedReader wordReader( Optional<File> wordFile) throws IOException
+  private static String validWord( String word)
     {
-    return
-      new BufferedReader(
-        wordFile.isPresent()
-        ? new FileReader( wordFile.get())
-        : new InputStreamReader( System.in));
+    if( !Dictionary.isPackable( word))
+      {
+      throw new IllegalArgumentException( String.format( "'%s' is not a 5-letter word using only A-Z", word));
+      }
+
+    return word;
+    }
+
+  /**
+   * Returns the pattern represented by the given clues. Throws an exception if this is not a valid pattern.
+   */
+  static WordPattern guessPattern( String clues)
+    {
+    return WordPattern.valueOf( clues.replace( 'g', 'G').replace( 'Y', 'y'));
     }
 
-  private final List<String> words_;
+  private final List<String> guesses_;
+  private final List<String> targets_;
+  private Constraints constraints_;
+  private boolean collapsed_;
+
+  /**
+   * If this object was narrowed from another object that collapses equivalent guesses, the classes of equivalent guesses
+   * for the previous targets.
+   */
+  private final int[][] previousEquivalents_;
+
+  /**
+   * Derived values, created when first needed. A Wordles object can be shared by concurrent threads, for example by all
+   * {@link WordlesServer} sessions, so each of these is created at most once and safely published to all threads.
+   */
+  private volatile PatternMatrix patterns_;
+  private volatile WordSet candidates_;
+  private volatile WordSet legalGuesses_;
+  private volatile LetterIndex guessIndex_;
+  private volatile LetterIndex targetIndex_;
+  private volatile int[][] equivalents_;
+  private volatile AtomicReferenceArray<WordPatternGroups> collapsedStatistics_;
+  private PatternCache cache_;
+  private int threads_;
 
-  private static final Comparator<Map.Entry<WordPattern,Set<String>>> groupPrintOrder_ =
-    Comparator.comparingInt( ( Map.Entry<WordPattern,Set<String>> e) -> e.getValue().size())
-    .reversed()
-    .thenComparing( (Map.Entry<WordPattern,Set<String>> e) -> e.getKey());
+  private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+  private static final Map<Integer,ForkJoinPool> pools_ = new ConcurrentHashMap<Integer,ForkJoinPool>();
   }
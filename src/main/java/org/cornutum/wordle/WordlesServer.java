@@ -0,0 +1,335 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Answers requests about a set of Wordle word choices from clients connected to a local socket.
+ * <P/>
+ * All patterns for the word list are computed once and shared by all client sessions. The ranked guess words
+ * for each set of possible targets are also kept, so repeated requests for the same targets are answered
+ * without ranking again. Only the statistics for the guesses listed in a response are computed again. Each client
+ * session is handled by its own thread, using virtual threads when the Java runtime provides them.
+ * <P/>
+ * Each request is a single line, and each response ends with a line containing only ".". An invalid request
+ * is answered with a single line starting with "ERROR". A request is one of the following, where <CODE>filters</CODE>
+ * is a list of guess words, each followed by its pattern of clues, which narrows the possible targets.
+ * <UL>
+ * <LI> <CODE>rank [count] [filters]</CODE>: Lists the given number of best guesses, one per line, with the number
+ * of groups, the maximum group size, and the variance in group size. The default count is 1.</LI>
+ * <LI> <CODE>groups guess [filters]</CODE>: Prints the pattern groups for the given guess.</LI>
+ * <LI> <CODE>filter [filters]</CODE>: Lists the possible targets, one per line.</LI>
+ * <LI> <CODE>quit</CODE>: Ends the client session.</LI>
+ * </UL>
+ */
+public class WordlesServer implements Runnable, Closeable
+  {
+  /**
+   * Creates a new WordlesServer instance that ranks guesses using the given comparator.
+   */
+  public WordlesServer( Wordles wordles, Comparator<WordPatternGroups> ranking)
+    {
+    wordles_ = wordles;
+    ranking_ = ranking;
+
+    // Rank all guesses against all targets before accepting any requests.
+    getState( new String[0], 0).getRanked();
+    }
+
+  /**
+   * Starts listening for clients on the given port of the loopback address. If the port is 0, any free
+   * port is used.
+   */
+  public void bind( int port) throws IOException
+    {
+    serverSocket_ = new ServerSocket( port, 0, InetAddress.getLoopbackAddress());
+    }
+
+  /**
+   * Returns the port used to listen for clients.
+   */
+  public int getPort()
+    {
+    return serverSocket_.getLocalPort();
+    }
+
+  /**
+   * Accepts client connections until this server is closed.
+   */
+  public void run()
+    {
+    try
+      {
+      while( !serverSocket_.isClosed())
+        {
+        Socket client = serverSocket_.accept();
+        sessions_.execute( () -> serve( client));
+        }
+      }
+    catch( SocketException e)
+      {
+      // Server socket closed.
+      }
+    catch( IOException e)
+      {
+      throw new IllegalStateException( "Can't accept client connection", e);
+      }
+    }
+
+  /**
+   * Stops listening for clients.
+   */
+  public void close() throws IOException
+    {
+    sessions_.shutdown();
+    if( serverSocket_ != null)
+      {
+      serverSocket_.close();
+      }
+    }
+
+  /**
+   * Answers all requests from the given client.
+   */
+  private void serve( Socket client)
+    {
+    try( Socket socket = client)
+      {
+      BufferedReader reader = new BufferedReader( new InputStreamReader( socket.getInputStream(), StandardCharsets.UTF_8));
+      PrintWriter writer = new PrintWriter( new OutputStreamWriter( socket.getOutputStream(), StandardCharsets.UTF_8));
+
+      String request;
+      while( (request = reader.readLine()) != null && !request.trim().equalsIgnoreCase( "quit"))
+        {
+        respond( request, writer);
+        writer.flush();
+        }
+      }
+    catch( IOException e)
+      {
+      // Client disconnected.
+      }
+    }
+
+  /**
+   * Writes the response to the given request.
+   */
+  void respond( String request, PrintWriter writer)
+    {
+    try
+      {
+      String[] args = request.trim().split( "\\s+");
+      String type = args[0].toLowerCase();
+
+      if( type.equals( "rank"))
+        {
+        int filters = 1;
+        int count = 1;
+        if( args.length > 1 && args[1].matches( "[0-9]+"))
+          {
+          try
+            {
+            count = Integer.parseInt( args[1]);
+            }
+          catch( NumberFormatException e)
+            {
+            throw new IllegalArgumentException( String.format( "Invalid count: %s", args[1]));
+            }
+          filters = 2;
+          }
+        State state = getState( args, filters);
+        List<String> ranked = state.getRanked();
+        for( WordPatternGroups groups : state.getCandidates().getWordPatternGroups( ranked.subList( 0, Math.min( count, ranked.size()))))
+          {
+          writer.println( String.format( Locale.ROOT, "%s %d %d %.3f", groups.getGuess(), groups.getSize(), groups.getMax(), groups.getVariance()));
+          }
+        }
+      else if( type.equals( "groups"))
+        {
+        if( args.length < 2)
+          {
+          throw new IllegalArgumentException( "No guess word given");
+          }
+        Wordles candidates = getState( args, 2).getCandidates();
+        candidates.printWordPatternGroups( candidates.getWordPatternGroups( Wordles.guessWord( args[1])), writer);
+        }
+      else if( type.equals( "filter"))
+        {
+        getState( args, 1).getCandidates().getTargets().stream().forEach( writer::println);
+        }
+      else
+        {
+        throw new IllegalArgumentException( String.format( "Unknown request: %s", args[0]));
+        }
+      }
+    catch( RuntimeException e)
+      {
+      // Any failure ends only this response, not the client session.
+      writer.println( String.format( "ERROR %s", Optional.ofNullable( e.getMessage()).orElse( e.toString())));
+      }
+
+    writer.println( ".");
+    }
+
+  /**
+   * Returns the state for the possible targets that match the filters given by the arguments starting at the given index.
+   */
+  private State getState( String[] args, int start)
+    {
+    if( (args.length - start) % 2 != 0)
+      {
+      throw new IllegalArgumentException( "Each filter must be a guess word followed by its pattern");
+      }
+
+    // Filters can be applied in any order, so identify the state by the sorted list of filters.
+    TreeSet<String> filters = new TreeSet<String>();
+    List<String> guesses = new ArrayList<String>();
+    List<WordPattern> patterns = new ArrayList<WordPattern>();
+    for( int i = start; i < args.length; i += 2)
+      {
+      String guess = Wordles.guessWord( args[i]);
+      WordPattern pattern = Wordles.guessPattern( args[i+1]);
+      guesses.add( guess);
+      patterns.add( pattern);
+      filters.add( String.format( "%s %s", guess, pattern));
+      }
+
+    String key = String.join( " ", filters);
+    State state = states_.get( key);
+    if( state == null)
+      {
+      Wordles candidates = wordles_;
+      for( int i = 0; i < guesses.size(); i++)
+        {
+        candidates = candidates.narrowed( guesses.get(i), patterns.get(i));
+        if( candidates.getTargets().isEmpty())
+          {
+          throw new IllegalArgumentException( String.format( "No possible target matches %s %s", guesses.get(i), patterns.get(i)));
+          }
+        }
+      state = new State( candidates);
+      states_.put( key, state);
+      }
+
+    return state;
+    }
+
+  /**
+   * Returns the executor that runs each client session in a new thread. Uses virtual threads, if available.
+   */
+  private static ExecutorService sessionExecutor()
+    {
+    try
+      {
+      return (ExecutorService) Executors.class.getMethod( "newVirtualThreadPerTaskExecutor").invoke( null);
+      }
+    catch( ReflectiveOperationException e)
+      {
+      return
+        Executors.newCachedThreadPool(
+          session -> {
+            Thread thread = new Thread( session, "wordles-session");
+            thread.setDaemon( true);
+            return thread;
+          });
+      }
+    }
+
+  /**
+   * The possible targets that match a set of filters.
+   */
+  private class State
+    {
+    /**
+     * Creates a new State instance.
+     */
+    private State( Wordles candidates)
+      {
+      candidates_ = candidates;
+      }
+
+    /**
+     * Returns the possible targets.
+     */
+    private Wordles getCandidates()
+      {
+      return candidates_;
+      }
+
+    /**
+     * Returns all guesses, ranked against the possible targets. Only the guess words are kept, and the pattern groups
+     * for any of them are created again when needed.
+     */
+    private synchronized List<String> getRanked()
+      {
+      if( ranked_ == null)
+        {
+        ranked_ = candidates_.getRankedGuesses( ranking_);
+        }
+
+      return ranked_;
+      }
+
+    private final Wordles candidates_;
+    private List<String> ranked_;
+    }
+
+  public String toString()
+    {
+    return
+      new StringBuilder( getClass().getSimpleName())
+      .append( '[')
+      .append( serverSocket_ == null? "unbound" : String.valueOf( getPort()))
+      .append( ']')
+      .toString();
+    }
+
+  private final Wordles wordles_;
+  private final Comparator<WordPatternGroups> ranking_;
+  private final ExecutorService sessions_ = sessionExecutor();
+  private ServerSocket serverSocket_;
+
+  /**
+   * The most recently used states, identified by their filters.
+   */
+  private final Map<String,State> states_ =
+    Collections.synchronizedMap(
+      new LinkedHashMap<String,State>( 16, 0.75f, true)
+        {
+        protected boolean removeEldestEntry( Map.Entry<String,State> eldest)
+          {
+          return size() > MAX_STATES;
+          }
+
+        private static final long serialVersionUID = 1L;
+        });
+
+  private static final int MAX_STATES = 256;
+  }
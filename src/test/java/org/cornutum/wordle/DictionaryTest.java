@@ -0,0 +1,94 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+
+/**
+ * Runs tests for {@link Dictionary}.
+ */
+public class DictionaryTest
+  {
+  @Test
+  public void whenDuplicates()
+    {
+    // When...
+    Dictionary dictionary = new Dictionary( Arrays.asList( "LOVED", "BELOW", "HOVEL", "BELOW", "loved", "ZEBRA"));
+
+    // Then...
+    assertThat( "Words", dictionary.getWords(), listsMembers( "BELOW", "HOVEL", "LOVED", "ZEBRA"));
+    assertThat( "Size", dictionary.size(), is( 4));
+    for( int id = 0; id < dictionary.size(); id++)
+      {
+      String word = dictionary.getWord( id);
+      assertThat( "Id", dictionary.getId( word), is( id));
+      assertThat( "Packed", dictionary.getPacked( id), is( Dictionary.pack( word)));
+      assertThat( "Unpacked", Dictionary.unpack( dictionary.getPacked( id)), is( word));
+      }
+    assertThat( "Id", dictionary.getId( "hovel"), is( 1));
+    assertThat( "Id", dictionary.getId( "GUPPY"), is( -1));
+    assertThat( "Id", dictionary.getId( "GUP"), is( -1));
+    }
+
+  @Test
+  public void whenLetters()
+    {
+    // When...
+    Dictionary dictionary = new Dictionary( Arrays.asList( "EVERY", "ABUZZ"));
+
+    // Then...
+    int every = dictionary.getId( "EVERY");
+    assertThat( "Letter mask", dictionary.getLetterMask( every), is( letterMask( "EVRY")));
+    assertThat( "E count", dictionary.getLetterCount( every, 'E' - 'A'), is( 2));
+    assertThat( "V count", dictionary.getLetterCount( every, 'V' - 'A'), is( 1));
+    assertThat( "A count", dictionary.getLetterCount( every, 'A' - 'A'), is( 0));
+
+    int abuzz = dictionary.getId( "ABUZZ");
+    assertThat( "Letter mask", dictionary.getLetterMask( abuzz), is( letterMask( "ABUZ")));
+    assertThat( "Z count", dictionary.getLetterCount( abuzz, 'Z' - 'A'), is( 2));
+    assertThat( "Letter", Dictionary.letterAt( dictionary.getPacked( abuzz), 2), is( 'U' - 'A'));
+    }
+
+  @Test
+  public void whenNotPackable()
+    {
+    assertThat( "Packable", Dictionary.isPackable( "crane"), is( true));
+    assertThat( "Packable", Dictionary.isPackable( "CRÂNE"), is( false));
+    assertThat( "Packable", Dictionary.isPackable( "BUNN\u0131"), is( false));
+    assertThat( "Packable", Dictionary.isPackable( "\u017fNIPE"), is( false));
+    assertThat( "Packable", Dictionary.isPackable( "CRANES"), is( false));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Dictionary( Arrays.asList( "BELOW", "CRÂNE")));
+    }
+
+  @Test
+  public void whenEmpty()
+    {
+    // When...
+    Dictionary dictionary = new Dictionary( null);
+
+    // Then...
+    assertThat( "Size", dictionary.size(), is( 0));
+    assertThat( "Words", dictionary.getWords(), is( empty()));
+    }
+
+  /**
+   * Returns the mask for the given letters.
+   */
+  private int letterMask( String letters)
+    {
+    return letters.chars().map( letter -> 1 << (letter - 'A')).reduce( 0, (mask, bit) -> mask | bit);
+    }
+  }
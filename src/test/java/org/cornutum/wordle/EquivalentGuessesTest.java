@@ -0,0 +1,97 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link EquivalentGuesses}.
+ */
+public class EquivalentGuessesTest extends BaseTest
+  {
+  @Test
+  public void whenGuppy() throws Exception
+    {
+    // Given...
+    List<String> words = Arrays.asList( "BUGGY", "BUMPY", "BUNNY", "FUNNY", "GUMMY", "GUPPY", "MUMMY", "PUPPY");
+    PatternMatrix patterns = new PatternMatrix( words);
+    int[] candidates = new int[]{ words.indexOf( "BUNNY"), words.indexOf( "FUNNY"), words.indexOf( "MUMMY")};
+    EquivalentGuesses equivalents = new EquivalentGuesses( patterns, candidates);
+
+    // When...
+    int[] representatives = IntStream.range( 0, words.size()).map( equivalents::add).toArray();
+
+    // Then...
+    assertThat( "Classes", equivalents.getClassCount(), is( 7));
+    assertThat( "PUPPY", words.get( representatives[ words.indexOf( "PUPPY")]), is( "GUPPY"));
+    assertThat( "GUMMY", words.get( representatives[ words.indexOf( "GUMMY")]), is( "GUMMY"));
+    assertThat( "MUMMY", words.get( representatives[ words.indexOf( "MUMMY")]), is( "MUMMY"));
+    assertThat( "Members", equivalents.getMembers( 5), is( new int[]{ words.indexOf( "GUPPY"), words.indexOf( "PUPPY")}));
+    assertThat( "Equivalent", equivalents.isEquivalent( words.indexOf( "GUMMY"), words.indexOf( "MUMMY")), is( false));
+    }
+
+  @Test
+  public void whenRandom()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 300);
+    PatternMatrix patterns = new PatternMatrix( words);
+    Random random = new Random( 300);
+
+    for( int size : new int[]{ 1, 2, 5, 20, 100, 300})
+      {
+      int[] candidates = IntStream.range( 0, words.size()).filter( target -> random.nextInt( words.size()) < size).toArray();
+      EquivalentGuesses equivalents = new EquivalentGuesses( patterns, candidates);
+
+      // When...
+      IntStream.range( 0, words.size()).forEach( equivalents::add);
+
+      // Then...
+      List<List<Integer>> expected = new ArrayList<List<Integer>>( canonicalClasses( patterns, candidates).values());
+      assertThat( "Classes", equivalents.getClassCount(), is( expected.size()));
+      for( int c = 0; c < expected.size(); c++)
+        {
+        assertThat( "Members", IntStream.of( equivalents.getMembers( c)).boxed().collect( toList()), is( expected.get(c)));
+        assertThat( "Representative", equivalents.getRepresentative( c), is( expected.get(c).get(0)));
+        }
+      }
+    }
+
+  /**
+   * Returns the guesses with each canonical row, in order of first occurrence.
+   */
+  private Map<List<Integer>,List<Integer>> canonicalClasses( PatternMatrix patterns, int[] candidates)
+    {
+    Map<List<Integer>,List<Integer>> classes = new LinkedHashMap<List<Integer>,List<Integer>>();
+    for( int guess = 0; guess < patterns.getGuessCount(); guess++)
+      {
+      Map<Integer,Integer> labels = new LinkedHashMap<Integer,Integer>();
+      labels.put( 0, 0);
+      List<Integer> row = new ArrayList<Integer>();
+      for( int target : candidates)
+        {
+        int code = patterns.getCode( guess, target);
+        row.add( labels.computeIfAbsent( code, c -> labels.size()));
+        }
+      classes.computeIfAbsent( row, r -> new ArrayList<Integer>()).add( guess);
+      }
+
+    return classes;
+    }
+  }
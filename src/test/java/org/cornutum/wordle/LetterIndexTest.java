@@ -0,0 +1,135 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link LetterIndex}.
+ */
+public class LetterIndexTest
+  {
+  @Test
+  public void whenLetters()
+    {
+    // Given...
+    List<String> words = Arrays.asList( "GUPPY", "PUPPY", "BUNNY", "UNZIP");
+
+    // When...
+    LetterIndex index = new LetterIndex( words);
+
+    // Then...
+    assertThat( "All", index.all(), listsMembers( "GUPPY", "PUPPY", "BUNNY", "UNZIP"));
+    assertThat( "P at 2", index.withLetterAt( 'P' - 'A', 2), listsMembers( "GUPPY", "PUPPY"));
+    assertThat( "P at 0", index.withLetterAt( 'P' - 'A', 0), listsMembers( "PUPPY"));
+    assertThat( "P >= 1", index.withMinCount( 'P' - 'A', 1), listsMembers( "GUPPY", "PUPPY", "UNZIP"));
+    assertThat( "P >= 2", index.withMinCount( 'P' - 'A', 2), listsMembers( "GUPPY", "PUPPY"));
+    assertThat( "P >= 3", index.withMinCount( 'P' - 'A', 3), listsMembers( "PUPPY"));
+    assertThat( "P >= 4", index.withMinCount( 'P' - 'A', 4).isEmpty(), is( true));
+    assertThat( "P >= 0", index.withMinCount( 'P' - 'A', 0).size(), is( 4));
+    }
+
+  @Test
+  public void whenNotLetters()
+    {
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new LetterIndex( Arrays.asList( "GUPPY", "not-a-word")));
+    }
+
+  @Test
+  public void whenConstraints()
+    {
+    // Given...
+    List<String> words = Arrays.asList( "GUPPY", "PUPPY", "BUNNY", "FUNNY", "MUMMY", "UNZIP");
+    LetterIndex index = new LetterIndex( words);
+
+    // When...
+    Constraints constraints = new Constraints().with( "PUPPY", WordPattern.valueOf( "y.GGG"));
+
+    // Then...
+    assertThat( "Constraints", constraints.toString(), is( "Constraints[..PPY,P>=3,Y>=1,-U]"));
+    assertThat( "Matching", index.matching( constraints).isEmpty(), is( true));
+
+    // When...
+    constraints = new Constraints().with( "GUPPY", WordPattern.valueOf( ".G..G"));
+
+    // Then...
+    assertThat( "Constraints", constraints.toString(), is( "Constraints[.U..Y,U>=1,Y>=1,-GP]"));
+    assertThat( "Matching", index.matching( constraints), listsMembers( "BUNNY", "FUNNY", "MUMMY"));
+
+    // When...
+    constraints = constraints.with( "BUNNY", WordPattern.valueOf( ".GyyG"));
+
+    // Then...
+    assertThat( "Constraints", constraints.toString(), is( "Constraints[.U..Y,N>=2,U>=1,Y>=1,-BGP]"));
+    assertThat( "Matching", index.matching( constraints), listsMembers( "FUNNY"));
+    }
+
+  @Test
+  public void whenPattern()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 1000);
+    LetterIndex index = new LetterIndex( words);
+
+    for( String guess : Arrays.asList( words.get( 0), words.get( 1), "ALOES", "TESTS", "RRROR", "BBBBB", "ZEBRA"))
+      {
+      for( int code = 0; code < WordPattern.CODES; code++)
+        {
+        // When...
+        WordPattern pattern = WordPattern.valueOf( code);
+        WordSet matching = index.matching( guess, pattern);
+
+        // Then...
+        int patternCode = code;
+        assertThat(
+          String.format( "Guess=%s, pattern=%s", guess, pattern),
+          matching.ids().mapToObj( words::get).collect( toList()),
+          is( words.stream().filter( word -> WordPattern.patternCode( word, guess) == patternCode).collect( toList())));
+        }
+      }
+    }
+
+  @Test
+  public void whenRandom()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 500);
+    LetterIndex index = new LetterIndex( words);
+    Random random = new Random( 500);
+
+    for( int game = 0; game < 50; game++)
+      {
+      String target = words.get( random.nextInt( words.size()));
+      Constraints constraints = new Constraints();
+      for( int guesses = 0; guesses < 3; guesses++)
+        {
+        // When...
+        String guess = words.get( random.nextInt( words.size()));
+        constraints = constraints.with( guess, WordPattern.patternFor( target, guess));
+        Constraints satisfied = constraints;
+
+        // Then...
+        assertThat(
+          String.format( "Target=%s, %s", target, constraints),
+          index.matching( constraints).ids().mapToObj( words::get).collect( toList()),
+          is( words.stream().filter( satisfied::isSatisfiedBy).collect( toList())));
+        assertThat( String.format( "Target=%s, %s", target, constraints), constraints.isSatisfiedBy( target), is( true));
+        }
+      }
+    }
+  }
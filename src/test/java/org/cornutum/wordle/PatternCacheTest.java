@@ -0,0 +1,123 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs tests for {@link PatternCache}.
+ */
+public class PatternCacheTest extends BaseTest
+  {
+  @Test
+  public void whenCached() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    PatternCache cache = new PatternCache( cacheDir_.newFolder());
+    File cacheFile = cache.getCacheFile( PatternCache.fingerprint( words));
+
+    // When...
+    PatternMatrix written = cache.getPatternMatrix( words);
+
+    // Then...
+    assertThat( "Cache file exists", cacheFile.exists(), is( true));
+    assertMatrixEquals( written, new PatternMatrix( words));
+
+    // Given...
+    long lastModified = cacheFile.lastModified();
+
+    // When...
+    PatternMatrix read = cache.getPatternMatrix( words);
+
+    // Then...
+    assertThat( "Cache file modified", cacheFile.lastModified(), is( lastModified));
+    assertMatrixEquals( read, new PatternMatrix( words));
+    }
+
+  @Test
+  public void whenInvalid() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-valid.txt")));
+    PatternCache cache = new PatternCache( cacheDir_.newFolder());
+    File cacheFile = cache.getCacheFile( PatternCache.fingerprint( words));
+    cache.getPatternMatrix( words);
+
+    try( RandomAccessFile file = new RandomAccessFile( cacheFile, "rw"))
+      {
+      file.writeInt( 0);
+      }
+
+    // When...
+    PatternMatrix patterns = cache.getPatternMatrix( words);
+
+    // Then...
+    assertMatrixEquals( patterns, new PatternMatrix( words));
+    try( RandomAccessFile file = new RandomAccessFile( cacheFile, "r"))
+      {
+      assertThat( "Magic", file.readInt(), is( not( 0)));
+      }
+    }
+
+  @Test
+  public void whenGuessesAndTargets() throws Exception
+    {
+    // Given...
+    List<String> guesses = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    List<String> targets = Wordles.readWords( Optional.of( getResourceFile( "words-valid.txt")));
+    PatternCache cache = new PatternCache( cacheDir_.newFolder());
+
+    // When...
+    PatternMatrix written = cache.getPatternMatrix( guesses, targets, false);
+    PatternMatrix read = cache.getPatternMatrix( guesses, targets, false);
+
+    // Then...
+    assertMatrixEquals( written, new PatternMatrix( guesses, targets));
+    assertMatrixEquals( read, new PatternMatrix( guesses, targets));
+    assertThat( "Fingerprint", PatternCache.fingerprint( guesses, targets), is( not( PatternCache.fingerprint( targets, guesses))));
+    }
+
+  @Test
+  public void whenFingerprint()
+    {
+    // Given...
+    List<String> words = Arrays.asList( "BELOW", "LOVED", "HOVEL");
+    List<String> reordered = Arrays.asList( "LOVED", "BELOW", "HOVEL");
+
+    // Then...
+    assertThat( "Fingerprint", PatternCache.fingerprint( words), is( PatternCache.fingerprint( Arrays.asList( "BELOW", "LOVED", "HOVEL"))));
+    assertThat( "Fingerprint", PatternCache.fingerprint( words), is( not( PatternCache.fingerprint( reordered))));
+    }
+
+  private void assertMatrixEquals( PatternMatrix actual, PatternMatrix expected)
+    {
+    assertThat( "Guesses", actual.getGuesses(), is( expected.getGuesses()));
+    assertThat( "Targets", actual.getTargets(), is( expected.getTargets()));
+    for( int guess = 0; guess < expected.getGuessCount(); guess++)
+      {
+      for( int target = 0; target < expected.getTargetCount(); target++)
+        {
+        assertThat( "Code", actual.getCode( guess, target), is( expected.getCode( guess, target)));
+        }
+      }
+    }
+
+  @Rule
+  public TemporaryFolder cacheDir_ = new TemporaryFolder();
+  }
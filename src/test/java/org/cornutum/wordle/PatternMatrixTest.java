@@ -0,0 +1,83 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs tests for {@link PatternMatrix}.
+ */
+public class PatternMatrixTest extends BaseTest
+  {
+  @Test
+  public void whenWordIsGuppy() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+
+    // When...
+    PatternMatrix patterns = new PatternMatrix( words);
+
+    // Then...
+    assertThat( "Guesses", patterns.getGuessCount(), is( words.size()));
+    assertThat( "Targets", patterns.getTargetCount(), is( words.size()));
+    for( int guess = 0; guess < words.size(); guess++)
+      {
+      assertThat( "Guess id", patterns.getGuessId( words.get( guess)), is( guess));
+      for( int target = 0; target < words.size(); target++)
+        {
+        assertThat(
+          String.format( "Pattern for guess=%s, target=%s", words.get( guess), words.get( target)),
+          patterns.getPattern( guess, target),
+          is( WordPattern.patternFor( words.get( target), words.get( guess))));
+        }
+      }
+    assertThat( "Guess id", patterns.getGuessId( "EVERY"), is( -1));
+    }
+
+  @Test
+  public void whenGuessesAndTargets() throws Exception
+    {
+    // Given...
+    List<String> guesses = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    List<String> targets = Wordles.readWords( Optional.of( getResourceFile( "words-valid.txt")));
+
+    // When...
+    PatternMatrix patterns = new PatternMatrix( guesses, targets);
+
+    // Then...
+    assertThat( "Guesses", patterns.getGuesses(), is( guesses));
+    assertThat( "Targets", patterns.getTargets(), is( targets));
+    for( int guess = 0; guess < guesses.size(); guess++)
+      {
+      for( int target = 0; target < targets.size(); target++)
+        {
+        assertThat(
+          String.format( "Pattern for guess=%s, target=%s", guesses.get( guess), targets.get( target)),
+          patterns.getPattern( guess, target),
+          is( WordPattern.patternFor( targets.get( target), guesses.get( guess))));
+        }
+      }
+    }
+
+  @Test
+  public void whenEmpty()
+    {
+    // When...
+    PatternMatrix patterns = new PatternMatrix( null);
+
+    // Then...
+    assertThat( "Guesses", patterns.getGuessCount(), is( 0));
+    assertThat( "Targets", patterns.getTargets(), is( empty()));
+    }
+  }
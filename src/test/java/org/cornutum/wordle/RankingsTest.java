@@ -0,0 +1,130 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link Rankings}.
+ */
+public class RankingsTest extends BaseTest
+  {
+  @Test
+  public void whenRankedByKey() throws Exception
+    {
+    // Given...
+    Wordles wordles = new Wordles( WordLists.randomWords( 400));
+
+    for( Comparator<WordPatternGroups> comparator : Arrays.asList( Rankings.bySize, Rankings.byVariance, Rankings.byMaxGroup, Rankings.byGuess, Rankings.byCombined,
+                                                                     Rankings.byEntropy, Rankings.byExpectedSize, Rankings.byEntropyThenGuess, Rankings.byExpectedSizeThenGuess))
+      {
+      // When...
+      List<WordPatternGroups> rankedByKey = Rankings.rankedByKey( wordles.getWordPatternGroups(), comparator);
+
+      // Then...
+      List<WordPatternGroups> ranked = Rankings.ranked( wordles.getWordPatternGroups(), comparator);
+      assertThat( "Ranked by key", guesses( rankedByKey), listsMembers( guesses( ranked)));
+      }
+    }
+
+  @Test
+  public void whenRankedByKeyGuppy() throws Exception
+    {
+    // Given...
+    Wordles wordles = new Wordles( Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt"))));
+
+    // When...
+    List<WordPatternGroups> rankedByKey = Rankings.rankedByKey( wordles.getWordPatternGroups(), Rankings.byCombined);
+
+    // Then...
+    List<WordPatternGroups> ranked = Rankings.ranked( wordles.getWordPatternGroups(), Rankings.byCombined);
+    assertThat( "Ranked by key", guesses( rankedByKey), listsMembers( guesses( ranked)));
+    }
+
+  @Test
+  public void whenEntropy() throws Exception
+    {
+    // Given...
+    Wordles wordles = new Wordles( WordLists.randomWords( 300));
+
+    for( WordPatternGroups patternGroups : wordles.getWordPatternGroups())
+      {
+      // When...
+      double entropy = patternGroups.getEntropy();
+      double expectedSize = patternGroups.getExpectedSize();
+
+      // Then...
+      double total = patternGroups.getTotal();
+      double expectedEntropy = 0.0;
+      double expectedExpectedSize = 0.0;
+      for( Set<String> group : patternGroups.getGroups().values())
+        {
+        double p = group.size() / total;
+        expectedEntropy -= p * Math.log( p) / Math.log( 2);
+        expectedExpectedSize += p * group.size();
+        }
+      assertThat( "Entropy", entropy, closeTo( expectedEntropy, 1e-9));
+      assertThat( "Expected size", expectedSize, closeTo( expectedExpectedSize, 1e-9));
+      }
+    }
+
+  @Test
+  public void whenNamed()
+    {
+    assertThat( "combined", Rankings.named( "combined"), is( Optional.of( Rankings.byCombined)));
+    assertThat( "entropy", Rankings.named( "entropy"), is( Optional.of( Rankings.byEntropyThenGuess)));
+    assertThat( "expected", Rankings.named( "expected"), is( Optional.of( Rankings.byExpectedSizeThenGuess)));
+    assertThat( "unknown", Rankings.named( "?"), is( Optional.empty()));
+    }
+
+  @Test
+  public void whenRankedIterator() throws Exception
+    {
+    // Given...
+    Wordles wordles = new Wordles( WordLists.randomWords( 400));
+    Comparator<WordPatternGroups> unkeyed = Rankings.byMaxGroup.thenComparing( Rankings.bySize);
+
+    for( int threads : new int[]{ 1, 4})
+      {
+      wordles.setThreads( threads);
+      for( Comparator<WordPatternGroups> comparator : Arrays.asList( Rankings.bySize, Rankings.byGuess, Rankings.byCombined, Rankings.byEntropy, Rankings.byExpectedSizeThenGuess, unkeyed))
+        {
+        // When...
+        RankedIterator rankedIterator = wordles.getRankedWordPatternGroups( comparator);
+        List<WordPatternGroups> iterated = new ArrayList<WordPatternGroups>();
+        rankedIterator.forEachRemaining( iterated::add);
+
+        // Then...
+        List<WordPatternGroups> ranked = Rankings.ranked( wordles.getWordPatternGroups(), comparator);
+        assertThat( "Iterated", guesses( iterated), listsMembers( guesses( ranked)));
+        assertThat( "Count", rankedIterator.getCount(), is( ranked.size()));
+        assertThat( "Remaining", rankedIterator.getRemaining(), is( 0));
+        assertThat( "Ranked guesses", wordles.getRankedGuesses( comparator), listsMembers( guesses( ranked)));
+        }
+      }
+    }
+
+  /**
+   * Returns the guess words for the given pattern groups.
+   */
+  private List<String> guesses( List<WordPatternGroups> patternGroups)
+    {
+    return patternGroups.stream().map( WordPatternGroups::getGuess).collect( toList());
+    }
+  }
@@ -0,0 +1,171 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs tests for {@link ResultWriter}.
+ */
+public class ResultWriterTest extends BaseTest
+  {
+  @Test
+  public void whenText() throws Exception
+    {
+    // Given...
+    Wordles wordles = getWordles();
+    StringWriter expected = new StringWriter();
+    wordles.getBestWordPatternGroups( Rankings.byCombined, 2).forEach( groups -> wordles.printWordPatternGroups( groups, expected));
+
+    // When...
+    String text = write( wordles, ResultWriter.Format.TEXT, false);
+
+    // Then...
+    assertThat( "Text", text, is( expected.toString()));
+    assertThat( "Text", text, containsString( String.format( "%n  .G..G%n    BUNNY%n    FUNNY%n    MUMMY%n")));
+    }
+
+  @Test
+  public void whenCsv() throws Exception
+    {
+    // When...
+    String[] lines = write( getWordles(), ResultWriter.Format.CSV, false).split( "\\R");
+
+    // Then...
+    assertThat( "Lines", lines.length, is( 18));
+    assertThat( "Header", lines[0], is( "guess,groups,max,variance,pattern,count,words"));
+    assertThat( "First", lines[1], is( "GUPPY,9,3,0.444,.G..G,3,BUNNY FUNNY MUMMY"));
+    assertThat( "Last", lines[17], is( "BUMPY,8,2,0.250,.y..G,1,UNIFY"));
+    }
+
+  @Test
+  public void whenJsonLines() throws Exception
+    {
+    // When...
+    String[] lines = write( getWordles(), ResultWriter.Format.JSONL, false).split( "\\R");
+
+    // Then...
+    assertThat( "Lines", lines.length, is( 2));
+    assertThat(
+      "First",
+      lines[0],
+      is( "{\"guess\":\"GUPPY\",\"groups\":9,\"max\":3,\"variance\":0.444,\"patterns\":{"
+          + "\".G..G\":[\"BUNNY\",\"FUNNY\",\"MUMMY\"],\".G.GG\":[\"BUMPY\",\"JUMPY\"],\"GGGGG\":[\"GUPPY\"],\".GGGG\":[\"PUPPY\"],"
+          + "\"GG..G\":[\"GUMMY\"],\"yG..G\":[\"BUGGY\"],\".y..G\":[\"UNIFY\"],\".yyy.\":[\"PINUP\"],\".yy..\":[\"UNZIP\"]}}"));
+    }
+
+  @Test
+  public void whenCountsOnly() throws Exception
+    {
+    // Given...
+    Wordles wordles = getWordles();
+
+    // When...
+    List<WordPatternGroups> best = wordles.getBestWordPatternGroups( Rankings.byCombined, 1);
+    StringWriter csv = new StringWriter();
+    ResultWriter writer = new ResultWriter( csv, ResultWriter.Format.CSV, true);
+    writer.write( best.get(0));
+    writer.flush();
+
+    // Then...
+    assertThat(
+      "CSV",
+      csv.toString().split( "\\R"),
+      is( new String[]{
+          "guess,groups,max,variance,pattern,count",
+          "GUPPY,9,3,0.444,.G..G,3",
+          "GUPPY,9,3,0.444,.G.GG,2",
+          "GUPPY,9,3,0.444,GGGGG,1",
+          "GUPPY,9,3,0.444,.GGGG,1",
+          "GUPPY,9,3,0.444,GG..G,1",
+          "GUPPY,9,3,0.444,yG..G,1",
+          "GUPPY,9,3,0.444,.y..G,1",
+          "GUPPY,9,3,0.444,.yyy.,1",
+          "GUPPY,9,3,0.444,.yy..,1"}));
+
+    // When...
+    String json = write( wordles, ResultWriter.Format.JSONL, true);
+
+    // Then...
+    assertThat( "JSON", json, startsWith( "{\"guess\":\"GUPPY\",\"groups\":9,\"max\":3,\"variance\":0.444,\"patterns\":{\".G..G\":3,\".G.GG\":2,\"GGGGG\":1,"));
+
+    // Given...
+    WordPatternGroups statistics = new WordPatternGroups( "GUPPY", () -> { throw new IllegalStateException( "Groups created"); });
+    statistics.addPattern( "BUNNY");
+    statistics.addPattern( "PUPPY");
+    StringWriter text = new StringWriter();
+
+    // When...
+    writer = new ResultWriter( text, ResultWriter.Format.TEXT, true);
+    writer.write( statistics);
+    writer.flush();
+
+    // Then...
+    assertThat( "Text", text.toString(), containsString( String.format( "%n  .G..G 1%n")));
+    }
+
+  @Test
+  public void whenEquivalents() throws Exception
+    {
+    // Given...
+    Wordles wordles = getWordles().narrowed( "GUPPY", WordPattern.valueOf( ".G..G"));
+    wordles.setCollapsed( true);
+    List<WordPatternGroups> best = wordles.getBestWordPatternGroups( Rankings.byCombined, 1);
+    StringWriter csv = new StringWriter();
+    StringWriter json = new StringWriter();
+
+    // When...
+    for( ResultWriter writer : new ResultWriter[]{ new ResultWriter( csv, ResultWriter.Format.CSV, true, true), new ResultWriter( json, ResultWriter.Format.JSONL, false, true)})
+      {
+      writer.write( best.get(0));
+      writer.flush();
+      }
+
+    // Then...
+    assertThat(
+      "CSV",
+      csv.toString().split( "\\R"),
+      is( new String[]{
+          "guess,groups,max,variance,pattern,count,equivalents",
+          "BUMPY,3,1,0.000,GG..G,1,UNIFY",
+          "BUMPY,3,1,0.000,.GG.G,1,UNIFY",
+          "BUMPY,3,1,0.000,.G..G,1,UNIFY"}));
+    assertThat(
+      "JSON",
+      json.toString().trim(),
+      is( "{\"guess\":\"BUMPY\",\"groups\":3,\"max\":1,\"variance\":0.000,\"equivalents\":[\"UNIFY\"],\"patterns\":{"
+          + "\"GG..G\":[\"BUNNY\"],\".GG.G\":[\"MUMMY\"],\".G..G\":[\"FUNNY\"]}}"));
+    }
+
+  /**
+   * Returns the Wordles for the "guppy" word list.
+   */
+  private Wordles getWordles() throws Exception
+    {
+    Dictionary words = Wordles.readDictionary( Optional.of( getResourceFile( "words-guppy.txt")));
+    return new Wordles( words, words);
+    }
+
+  /**
+   * Returns the results for the two best guesses, written in the given format.
+   */
+  private String write( Wordles wordles, ResultWriter.Format format, boolean countsOnly)
+    {
+    StringWriter stream = new StringWriter();
+    ResultWriter writer = new ResultWriter( stream, format, countsOnly);
+    wordles.getBestWordPatternGroups( Rankings.byCombined, 2).forEach( writer::write);
+    writer.flush();
+    return stream.toString();
+    }
+  }
@@ -0,0 +1,178 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs tests for {@link Solver}.
+ */
+public class SolverTest extends BaseTest
+  {
+  @Test
+  public void whenWordIsGuppy() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    Solver solver = new Solver( new PatternMatrix( words));
+
+    // When...
+    DecisionTree tree = solver.solve();
+
+    // Then...
+    assertDecisionTree( tree, words);
+    assertThat( "Total guesses", tree.getTotalGuesses(), is( bestTotalGuesses( words, words)));
+    }
+
+  @Test
+  public void whenOptimal()
+    {
+    for( int count = 3; count <= 9; count++)
+      {
+      // Given...
+      List<String> words = WordLists.randomWords( count);
+      Solver solver = new Solver( new PatternMatrix( words));
+
+      // When...
+      DecisionTree tree = solver.solve();
+
+      // Then...
+      assertDecisionTree( tree, words);
+      assertThat( "Total guesses", tree.getTotalGuesses(), is( bestTotalGuesses( words, words)));
+      }
+    }
+
+  @Test
+  public void whenBreadth()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 200);
+    Solver solver = new Solver( new PatternMatrix( words));
+    solver.setBreadth( 2);
+
+    // When...
+    DecisionTree limited = solver.solve();
+
+    // Then...
+    assertDecisionTree( limited, words);
+    assertThat( "Total guesses", limited.getTotalGuesses(), is( greaterThanOrEqualTo( new Solver( new PatternMatrix( words)).solve().getTotalGuesses())));
+    }
+
+  @Test
+  public void whenGuessesAndTargets() throws Exception
+    {
+    // Given...
+    List<String> targets = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    List<String> guesses = new ArrayList<String>( targets);
+    guesses.addAll( Arrays.asList( "BUMPH", "PYGMY", "HUMPY"));
+
+    // When...
+    DecisionTree tree = new Solver( new PatternMatrix( guesses, targets)).solve();
+
+    // Then...
+    assertDecisionTree( tree, targets);
+    assertThat( "Total guesses", tree.getTotalGuesses(), is( bestTotalGuesses( guesses, targets)));
+    }
+
+  @Test
+  public void whenTargetNotGuess()
+    {
+    // Given...
+    List<String> targets = Arrays.asList( "BELOW", "LOVED", "HOVEL");
+    List<String> guesses = Arrays.asList( "BELOW", "LOVED");
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Solver( new PatternMatrix( guesses, targets)));
+    }
+
+  @Test
+  public void whenEmpty()
+    {
+    // When...
+    DecisionTree tree = new Solver( new PatternMatrix( null)).solve();
+
+    // Then...
+    assertThat( "Decision tree", tree, is( nullValue()));
+    }
+
+  /**
+   * Reports a failure if the given decision tree doesn't find exactly the given targets.
+   */
+  private void assertDecisionTree( DecisionTree tree, List<String> targets)
+    {
+    assertThat( "Targets", tree.getTargetCount(), is( targets.size()));
+
+    Map<String,Integer> guessCounts = new HashMap<String,Integer>();
+    for( String target : targets)
+      {
+      DecisionTree node = tree;
+      int guesses = 1;
+      WordPattern pattern;
+      while( (pattern = WordPattern.patternFor( target, node.getGuess())).getCode() != 0)
+        {
+        node = node.getBranches().get( pattern);
+        assertThat( String.format( "Branch for target=%s, pattern=%s", target, pattern), node, is( notNullValue()));
+        guesses++;
+        }
+      assertThat( String.format( "Target=%s found", target), node.isTarget(), is( true));
+      guessCounts.put( target, guesses);
+      }
+
+    assertThat( "Total guesses", tree.getTotalGuesses(), is( guessCounts.values().stream().mapToLong( Integer::longValue).sum()));
+    assertThat( "Max guesses", tree.getMaxGuesses(), is( guessCounts.values().stream().mapToInt( Integer::intValue).max().orElse( 0)));
+    }
+
+  /**
+   * Returns the least total guesses needed to find all of the given targets, found by exhaustive search.
+   */
+  private long bestTotalGuesses( List<String> guesses, List<String> targets)
+    {
+    if( targets.isEmpty())
+      {
+      return 0;
+      }
+
+    long best = Long.MAX_VALUE;
+    for( String guess : guesses)
+      {
+      Map<WordPattern,List<String>> groups = new HashMap<WordPattern,List<String>>();
+      for( String target : targets)
+        {
+        WordPattern pattern = WordPattern.patternFor( target, guess);
+        if( pattern.getCode() != 0)
+          {
+          groups.computeIfAbsent( pattern, p -> new ArrayList<String>()).add( target);
+          }
+        }
+
+      if( groups.size() == 1 && groups.values().iterator().next().size() == targets.size())
+        {
+        continue;
+        }
+
+      long total = targets.size();
+      for( List<String> group : groups.values())
+        {
+        total += bestTotalGuesses( guesses, group);
+        }
+      best = Math.min( best, total);
+      }
+
+    return best;
+    }
+  }
@@ -0,0 +1,47 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates word lists for tests.
+ */
+public final class WordLists
+  {
+  /**
+   * Creates a new WordLists instance.
+   */
+  private WordLists()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Returns a list of random words, using a small alphabet to produce many ties.
+   */
+  public static List<String> randomWords( int count)
+    {
+    Random random = new Random( count);
+    String letters = "ABEILNORST";
+    List<String> words = new ArrayList<String>();
+    while( words.size() < count)
+      {
+      StringBuilder word = new StringBuilder();
+      for( int i = 0; i < 5; i++)
+        {
+        word.append( letters.charAt( random.nextInt( letters.length())));
+        }
+      words.add( word.toString());
+      }
+
+    return words;
+    }
+  }
@@ -119,6 +119,94 @@ public class WordPatternTest
     assertThat( "Pattern", String.valueOf( pattern), is( ".G.GG"));
     }
   
+  @Test
+  public void whenCode()
+    {
+    // Given...
+    String target = "EVERY";
+    String guess  = "LEVEL";
+    
+    // When...
+    int code = WordPattern.patternCode( target, guess);
+
+    // Then...
+    assertThat( "Code", code, is( WordPattern.valueOf( ".yyy.").getCode()));
+    assertThat( "Pattern", String.valueOf( WordPattern.valueOf( code)), is( ".yyy."));
+    assertThat( "Pattern", WordPattern.patternFor( target, guess), is( WordPattern.valueOf( code)));
+    }
+  
+  @Test
+  public void whenPackedCode()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 200);
+    words.addAll( Arrays.asList( "EVERY", "LEVEL", "GUPPY", "PUPPY", "ABUZZ"));
+
+    for( String target : words)
+      {
+      for( String guess : words)
+        {
+        // When...
+        int code = WordPattern.patternCode( Dictionary.pack( target), Dictionary.pack( guess));
+
+        // Then...
+        assertThat( String.format( "Code for target=%s, guess=%s", target, guess), code, is( WordPattern.patternCode( target, guess)));
+        }
+      }
+    }
+
+  @Test
+  public void whenPatternCodes()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 300);
+    words.addAll( Arrays.asList( "EVERY", "LEVEL", "GUPPY", "PUPPY", "ABUZZ", "CRANE", "QUICK", "JUMPY"));
+    Dictionary targets = new Dictionary( words);
+
+    for( String guess : targets.getWords())
+      {
+      // When...
+      byte[] codes = WordPattern.patternCodes( guess, targets);
+
+      // Then...
+      assertThat( "Codes", codes.length, is( targets.size()));
+      for( int target = 0; target < targets.size(); target++)
+        {
+        assertThat(
+          String.format( "Code for target=%s, guess=%s", targets.getWord( target), guess),
+          codes[ target] & 0xff,
+          is( WordPattern.patternCode( targets.getWord( target), guess)));
+        }
+      }
+    }
+
+  @Test
+  public void whenPossible()
+    {
+    assertThat( "Distinct letters", WordPattern.valueOf( ".y.yG").isPossibleFor( "CRANE"), is( true));
+    assertThat( "Yellow before white", WordPattern.valueOf( "y.G..").isPossibleFor( "PUPPY"), is( true));
+    assertThat( "Yellow after white", WordPattern.valueOf( "..Gy.").isPossibleFor( "PUPPY"), is( false));
+    assertThat( "Yellow after green", WordPattern.valueOf( "G.Gy.").isPossibleFor( "PUPPY"), is( true));
+    assertThat( "Yellow after other white", WordPattern.valueOf( ".y...").isPossibleFor( "GUPPY"), is( true));
+    }
+
+  @Test
+  public void whenCodeConverted()
+    {
+    for( int code = 0; code < WordPattern.CODES; code++)
+      {
+      // When...
+      WordPattern pattern = WordPattern.valueOf( code);
+
+      // Then...
+      assertThat( "Code", pattern.getCode(), is( code));
+      assertThat( "Pattern", WordPattern.valueOf( String.valueOf( pattern)), is( pattern));
+      }
+
+    assertThat( "All green", WordPattern.valueOf( "GGGGG").getCode(), is( 0));
+    assertThat( "All white", WordPattern.valueOf( ".....").getCode(), is( WordPattern.CODES - 1));
+    }
+  
   @Test
   public void whenSorted()
     {
@@ -7,15 +7,25 @@
 
 package org.cornutum.wordle;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Tests reading word lists.
@@ -72,4 +82,124 @@ public class WordReaderTest extends BaseTest
       words,
       null);
     }
+  
+  @Test
+  public void whenNotFiveLetters()
+    {
+    // Given...
+    String words = "below loved\n\thovel  vowels\n";
+
+    // When...
+    runWithStdIO(
+      () -> {
+      expectFailure( IllegalArgumentException.class)
+        .when( () -> Wordles.readWords( Optional.empty()))
+        .then( failure -> assertThat( "Failure", failure.getMessage(), is( "Line 2, column 9: 'vowels' is not a 5-letter word")));
+      },
+      words,
+      null);
+    }
+
+  @Test
+  public void whenNotLetters()
+    {
+    // Given...
+    String words = "below\r\nlo-ed hovel\r\n";
+
+    // When...
+    runWithStdIO(
+      () -> {
+      expectFailure( IllegalArgumentException.class)
+        .when( () -> Wordles.readWords( Optional.empty()))
+        .then( failure -> assertThat( "Failure", failure.getMessage(), is( "Line 2, column 1: 'lo-ed' contains chars other than A-Z")));
+      },
+      words,
+      null);
+    }
+
+  @Test
+  public void whenNotAscii()
+    {
+    // Given...
+    String words = "below cr\u00e2ne";
+
+    // When...
+    runWithStdIO(
+      () -> {
+      expectFailure( IllegalArgumentException.class)
+        .when( () -> Wordles.readWords( Optional.empty()))
+        .then( failure -> assertThat( "Failure", failure.getMessage(), is( "Line 1, column 7: 'cr\u00e2ne' contains chars other than A-Z")));
+      },
+      words,
+      null);
+    }
+
+  @Test
+  public void whenLarge() throws Exception
+    {
+    // Given...
+    List<String> expected = WordLists.randomWords( 20000);
+    String words = expected.stream().map( String::toLowerCase).collect( joining( " \n"));
+
+    // When...
+    int[] packed = WordLoader.readPacked( new ByteArrayInputStream( words.getBytes( "UTF-8")));
+
+    // Then...
+    assertThat( "Words", IntStream.of( packed).mapToObj( Dictionary::unpack).collect( toList()), is( expected));
+    }
+
+  @Test
+  public void whenCompiled() throws Exception
+    {
+    for( boolean letterMasks : new boolean[]{ true, false})
+      {
+      // Given...
+      Dictionary dictionary = new Dictionary( WordLists.randomWords( 1000));
+      File compiled = tempDir_.newFile();
+      WordLoader.writeCompiled( dictionary, compiled, letterMasks);
+
+      // When...
+      Dictionary read = Wordles.readDictionary( Optional.of( compiled));
+
+      // Then...
+      assertThat( "Words", read.getWords(), is( dictionary.getWords()));
+      assertThat( "Packed", WordLoader.readPacked( compiled), is( dictionary.getPacked()));
+      assertThat( "Letter masks", read.letterMasks(), is( dictionary.letterMasks()));
+      assertThat( "Letter count", read.getLetterCount( read.size() - 1, 4), is( dictionary.getLetterCount( dictionary.size() - 1, 4)));
+      }
+    }
+
+  @Test
+  public void whenCompiledCorrupt() throws Exception
+    {
+    // Given...
+    File compiled = tempDir_.newFile();
+    WordLoader.writeCompiled( new Dictionary( WordLists.randomWords( 100)), compiled);
+    try( RandomAccessFile file = new RandomAccessFile( compiled, "rw"))
+      {
+      file.seek( file.length() - 1);
+      file.writeByte( 0xff);
+      }
+
+    expectFailure( IOException.class)
+      .when( () -> Wordles.readWords( Optional.of( compiled)))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), containsString( "fingerprint does not match"));
+        });
+
+    // Given...
+    try( RandomAccessFile file = new RandomAccessFile( compiled, "rw"))
+      {
+      file.setLength( file.length() - 4);
+      }
+
+    expectFailure( IOException.class)
+      .when( () -> Wordles.readWords( Optional.of( compiled)))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), containsString( "is incomplete"));
+        });
+    }
+
+  @Rule
+  public TemporaryFolder tempDir_ = new TemporaryFolder();
   }
@@ -0,0 +1,141 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Runs tests for {@link WordSet}.
+ */
+public class WordSetTest
+  {
+  @Test
+  public void whenAllOf()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 130);
+
+    // When...
+    WordSet all = WordSet.allOf( words);
+
+    // Then...
+    assertThat( "Size", all.size(), is( words.size()));
+    assertThat( "Members", all, listsMembers( words));
+    assertThat( "Ids", all.getIds().length, is( 130));
+    assertThat( "Next id", all.nextId( 129), is( 129));
+    assertThat( "Next id", all.nextId( 130), is( -1));
+    assertThat( "Contains", all.contains( 130), is( false));
+    }
+
+  @Test
+  public void whenAddAndRemove()
+    {
+    // Given...
+    List<String> words = Arrays.asList( "BELOW", "LOVED", "HOVEL", "ABUZZ", "GUPPY");
+    WordSet wordSet = new WordSet( words);
+
+    // When...
+    boolean added = wordSet.add( 3);
+    wordSet.add( 1);
+    boolean addedAgain = wordSet.add( 3);
+
+    // Then...
+    assertThat( "Added", added, is( true));
+    assertThat( "Added again", addedAgain, is( false));
+    assertThat( "Members", wordSet, listsMembers( "LOVED", "ABUZZ"));
+    assertThat( "Contains", wordSet.contains( "ABUZZ"), is( true));
+    assertThat( "Contains", wordSet.contains( "GUPPY"), is( false));
+    assertThat( "Equals", wordSet, is( new TreeSet<String>( Arrays.asList( "ABUZZ", "LOVED"))));
+
+    // When...
+    boolean removed = wordSet.remove( 1);
+    boolean removedAgain = wordSet.remove( 1);
+
+    // Then...
+    assertThat( "Removed", removed, is( true));
+    assertThat( "Removed again", removedAgain, is( false));
+    assertThat( "Members", wordSet, listsMembers( "ABUZZ"));
+    assertThat( "Ids", wordSet.getIds(), is( new int[]{ 3}));
+    }
+
+  @Test
+  public void whenWordList()
+    {
+    // Given...
+    WordList words = WordList.of( Arrays.asList( "ABUZZ", "BELOW", "GUPPY", "HOVEL", "LOVED", "BELOW"));
+    WordSet wordSet = new WordSet( words);
+
+    // When...
+    wordSet.add( 1);
+    wordSet.add( 4);
+
+    // Then...
+    assertThat( "Members", wordSet, listsMembers( "BELOW", "LOVED"));
+    assertThat( "Contains", wordSet.contains( "BELOW"), is( true));
+    assertThat( "Contains", wordSet.contains( "LOVED"), is( true));
+    assertThat( "Contains", wordSet.contains( "GUPPY"), is( false));
+    assertThat( "Contains", wordSet.contains( "CRANE"), is( false));
+    assertThat( "Index", words.indexOf( "BELOW"), is( 1));
+    assertThat( "Sorted", words.isSorted(), is( false));
+    assertThat( "Sorted", WordList.of( words.subList( 0, 5)).isSorted(), is( true));
+    }
+
+  @Test
+  public void whenCombined()
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 200);
+    WordSet evens = WordSet.allOf( words).filtered( id -> id % 2 == 0);
+    WordSet threes = WordSet.allOf( words).filtered( id -> id % 3 == 0);
+
+    // When...
+    WordSet both = evens.and( threes);
+    WordSet evensOnly = evens.andNot( threes);
+
+    // Then...
+    List<Integer> sixes = new ArrayList<Integer>();
+    List<Integer> notThrees = new ArrayList<Integer>();
+    for( int id = 0; id < words.size(); id++)
+      {
+      if( id % 6 == 0)
+        {
+        sixes.add( id);
+        }
+      else if( id % 2 == 0)
+        {
+        notThrees.add( id);
+        }
+      }
+    assertThat( "Both", both.ids().boxed().toArray(), is( sixes.toArray()));
+    assertThat( "Evens only", evensOnly.ids().boxed().toArray(), is( notThrees.toArray()));
+    assertThat( "Intersection size", evens.intersectionSize( threes), is( sixes.size()));
+    assertThat( "Empty", evensOnly.and( threes).isEmpty(), is( true));
+    }
+
+  @Test
+  public void whenDifferentWords()
+    {
+    // Given...
+    WordSet wordSet = WordSet.allOf( Arrays.asList( "BELOW", "LOVED"));
+    WordSet other = WordSet.allOf( Arrays.asList( "BELOW", "LOVED"));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> wordSet.and( other));
+
+    assertThat( "Equals", wordSet, is( other));
+    }
+  }
@@ -0,0 +1,176 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.wordle;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Runs tests for {@link WordlesServer}.
+ */
+public class WordlesServerTest extends BaseTest
+  {
+  @Test
+  public void whenRequests() throws Exception
+    {
+    // Given...
+    Dictionary words = Wordles.readDictionary( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles wordles = new Wordles( words, words);
+
+    try( WordlesServer server = new WordlesServer( wordles, Rankings.byCombined))
+      {
+      server.bind( 0);
+      Thread accepting = new Thread( server);
+      accepting.start();
+
+      try( Socket socket = new Socket( InetAddress.getLoopbackAddress(), server.getPort()))
+        {
+        BufferedReader reader = new BufferedReader( new InputStreamReader( socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter writer = new PrintWriter( new OutputStreamWriter( socket.getOutputStream(), StandardCharsets.UTF_8), true);
+
+        // When...
+        List<String> ranked = request( reader, writer, "rank 3");
+
+        // Then...
+        assertThat( "Ranked", ranked, is( Arrays.asList( "GUPPY 9 3 0.444", "BUMPY 8 2 0.250", "GUMMY 8 3 0.500")));
+
+        // When...
+        List<String> narrowed = request( reader, writer, "rank 2 guppy .g..G");
+
+        // Then...
+        assertThat( "Narrowed", narrowed, is( Arrays.asList( "BUMPY 3 1 0.000", "BUNNY 3 1 0.000")));
+
+        // When...
+        List<String> filtered = request( reader, writer, "filter GUPPY .G..G");
+
+        // Then...
+        assertThat( "Filtered", filtered, is( Arrays.asList( "BUNNY", "FUNNY", "MUMMY")));
+
+        // When...
+        List<String> groups = request( reader, writer, "groups bumpy guppy .GGGG");
+
+        // Then...
+        assertThat( "Groups", groups, hasItems( "BUMPY    [ 1 | 1 | 0.000 ]", "  .G.GG", "    PUPPY"));
+
+        // When...
+        List<String> unknown = request( reader, writer, "bogus");
+
+        // Then...
+        assertThat( "Unknown", unknown, is( Arrays.asList( "ERROR Unknown request: bogus")));
+
+        // When...
+        List<String> unmatched = request( reader, writer, "filter GUPPY GGGGG BUMPY GGGGG");
+
+        // Then...
+        assertThat( "Unmatched", unmatched, is( Arrays.asList( "ERROR No possible target matches BUMPY GGGGG")));
+
+        // When...
+        writer.println( "quit");
+
+        // Then...
+        assertThat( "Session ended", reader.readLine(), is( nullValue()));
+        }
+
+      server.close();
+      accepting.join( 5000);
+      assertThat( "Server stopped", accepting.isAlive(), is( false));
+      }
+    }
+
+  @Test
+  public void whenInvalidRequests() throws Exception
+    {
+    // Given...
+    Dictionary words = Wordles.readDictionary( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles wordles = new Wordles( words, words);
+
+    Comparator<WordPatternGroups> allTargetsOnly =
+      (a, b) -> {
+        if( a.getTotal() < words.size())
+          {
+          throw new IllegalStateException( "Can't rank");
+          }
+        return Rankings.byCombined.compare( a, b);
+      };
+
+    try( WordlesServer server = new WordlesServer( wordles, allTargetsOnly))
+      {
+      // When...
+      StringWriter response = new StringWriter();
+      server.respond( "rank 99999999999", new PrintWriter( response, true));
+
+      // Then...
+      assertThat( "Invalid count", response.toString().split( "\\R"), is( new String[]{ "ERROR Invalid count: 99999999999", "."}));
+
+      // When...
+      response = new StringWriter();
+      server.respond( "rank 2 guppy .g..G", new PrintWriter( response, true));
+
+      // Then...
+      assertThat( "Ranking failed", response.toString().split( "\\R"), is( new String[]{ "ERROR Can't rank", "."}));
+      }
+    }
+
+  @Test
+  public void whenDecimalCommaLocale() throws Exception
+    {
+    // Given...
+    Dictionary words = Wordles.readDictionary( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles wordles = new Wordles( words, words);
+    Locale defaultLocale = Locale.getDefault();
+
+    try( WordlesServer server = new WordlesServer( wordles, Rankings.byCombined))
+      {
+      Locale.setDefault( Locale.GERMANY);
+      StringWriter response = new StringWriter();
+
+      // When...
+      server.respond( "rank 2", new PrintWriter( response));
+
+      // Then...
+      assertThat( "Ranked", response.toString().split( "\\R"), is( new String[]{ "GUPPY 9 3 0.444", "BUMPY 8 2 0.250", "."}));
+      }
+    finally
+      {
+      Locale.setDefault( defaultLocale);
+      }
+    }
+
+  /**
+   * Returns the response lines for the given request.
+   */
+  private List<String> request( BufferedReader reader, PrintWriter writer, String request) throws Exception
+    {
+    writer.println( request);
+
+    List<String> response = new ArrayList<String>();
+    String line;
+    while( !(line = reader.readLine()).equals( "."))
+      {
+      response.add( line);
+      }
+
+    return response;
+    }
+  }
@@ -7,13 +7,28 @@
 
 package org.cornutum.wordle;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import static org.cornutum.hamcrest.Composites.*;
 import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import java.io.File;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 /**
  * Runs tests for {@link Worldes}.
@@ -80,4 +95,466 @@ public class WordlesTest extends BaseTest
     assertThat( ".G.GG", best.getGroups().get( WordPattern.valueOf( ".G.GG")), containsMembers( Arrays.asList( "BUMPY", "JUMPY")));
     assertThat( ".y..G", best.getGroups().get( WordPattern.valueOf( ".y..G")), containsMembers( Arrays.asList( "UNIFY")));
     }
+
+  @Test
+  public void whenParallel() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles sequential = new Wordles( words);
+    Wordles parallel = new Wordles( words);
+    parallel.setThreads( 4);
+
+    // When...
+    List<WordPatternGroups> expected = Rankings.ranked( sequential.getWordPatternGroups(), Rankings.byCombined);
+    List<WordPatternGroups> actual = Rankings.ranked( parallel.getWordPatternGroups(), Rankings.byCombined);
+
+    // Then...
+    assertThat(
+      "Guesses",
+      actual.stream().map( String::valueOf).collect( toList()),
+      listsMembers( expected.stream().map( String::valueOf).collect( toList())));
+    }
+
+  @Test
+  public void whenBest() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles wordles = new Wordles( words);
+
+    for( Comparator<WordPatternGroups> comparator : Arrays.asList( Rankings.byCombined, Rankings.byVariance, Rankings.bySize, Rankings.byEntropyThenGuess, Rankings.byExpectedSizeThenGuess))
+      {
+      // When...
+      List<WordPatternGroups> best = wordles.getBestWordPatternGroups( comparator, 3);
+
+      // Then...
+      List<WordPatternGroups> ranked = Rankings.ranked( wordles.getWordPatternGroups(), comparator);
+      assertThat(
+        "Best guesses",
+        best.stream().map( WordPatternGroups::getGuess).collect( toList()),
+        listsMembers( ranked.subList( 0, 3).stream().map( WordPatternGroups::getGuess).collect( toList())));
+      }
+    }
+
+  @Test
+  public void whenStatisticsOnly() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles wordles = new Wordles( words);
+
+    // When...
+    List<WordPatternGroups> statistics = wordles.getWordPatternGroups();
+
+    // Then...
+    for( WordPatternGroups guessStatistics : statistics)
+      {
+      WordPatternGroups guessGroups = wordles.getWordPatternGroups( guessStatistics.getGuess());
+      assertThat( "Statistics only", guessStatistics.isStatisticsOnly(), is( true));
+      assertThat( "Size", guessStatistics.getSize(), is( guessGroups.getSize()));
+      assertThat( "Max", guessStatistics.getMax(), is( guessGroups.getMax()));
+      assertThat( "Variance", guessStatistics.getVariance(), is( guessGroups.getVariance()));
+      assertThat( "Groups", guessStatistics.getGroups(), is( guessGroups.getGroups()));
+      guessGroups.getGroups().forEach( (pattern, group) -> assertThat( "Count", guessStatistics.getCount( pattern), is( group.size())));
+      }
+    }
+
+  @Test
+  public void whenGuessesAndTargets() throws Exception
+    {
+    // Given...
+    List<String> targets = Arrays.asList( "BUMPY", "GUMMY", "JUMPY", "PUPPY");
+    List<String> guesses = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles wordles = new Wordles( guesses, targets);
+
+    // When...
+    List<WordPatternGroups> patternGroups = Rankings.rankedByKey( wordles.getWordPatternGroups(), Rankings.byCombined);
+
+    // Then...
+    assertThat( "Guesses", patternGroups.size(), is( guesses.size()));
+    assertThat(
+      "Guesses",
+      patternGroups.stream().map( WordPatternGroups::getGuess).collect( toList()),
+      containsMembers( guesses));
+
+    WordPatternGroups best = patternGroups.get(0);
+    assertThat( "Best", best.getGuess(), is( "BUMPY"));
+    assertThat( "Size", best.getSize(), is( 4));
+    assertThat( "Total", best.getTotal(), is( targets.size()));
+    best.getGroups().values().forEach( group -> assertThat( "Group", targets.containsAll( group), is( true)));
+    }
+
+  @Test
+  public void whenNarrowed() throws Exception
+    {
+    // Given...
+    List<String> words = Wordles.readWords( Optional.of( getResourceFile( "words-guppy.txt")));
+    Wordles wordles = new Wordles( words);
+
+    // When...
+    Wordles narrowed = wordles.narrowed( "GUPPY", WordPattern.valueOf( ".G..G"));
+
+    // Then...
+    assertThat( "Targets", narrowed.getTargets(), containsMembers( "BUNNY", "FUNNY", "MUMMY"));
+    assertThat( "Guesses", narrowed.getGuesses(), is( words));
+    assertThat( "Patterns", narrowed.getPatternMatrix(), is( sameInstance( wordles.getPatternMatrix())));
+
+    List<WordPatternGroups> expected = Rankings.rankedByKey( new Wordles( words, narrowed.getTargets()).getWordPatternGroups(), Rankings.byCombined);
+    List<WordPatternGroups> actual = Rankings.rankedByKey( narrowed.getWordPatternGroups(), Rankings.byCombined);
+    assertThat(
+      "Ranked",
+      actual.stream().map( String::valueOf).collect( toList()),
+      listsMembers( expected.stream().map( String::valueOf).collect( toList())));
+    assertThat( "Best groups", actual.get(0).getGroups(), is( expected.get(0).getGroups()));
+
+    // When...
+    Wordles nonWord = narrowed.narrowed( "MUNNY", WordPattern.valueOf( ".GGGG"));
+
+    // Then...
+    assertThat( "Targets", nonWord.getTargets(), containsMembers( "BUNNY", "FUNNY"));
+    }
+
+  @Test
+  public void whenConcurrent() throws Exception
+    {
+    // Given...
+    List<String> words = WordLists.randomWords( 400).stream().distinct().collect( toList());
+    List<String> guesses = words.subList( 0, 32);
+    WordPattern pattern = WordPattern.valueOf( "..y..");
+
+    Wordles serial = new Wordles( words);
+    serial.setHardMode( true);
+    serial.setCollapsed( true);
+    List<List<String>> expected =
+      guesses.stream()
+      .map( guess -> serial.narrowed( guess, pattern).getRankedGuesses( Rankings.byCombined))
+      .collect( toList());
+
+    Wordles wordles = new Wordles( words);
+    wordles.setHardMode( true);
+    wordles.setCollapsed( true);
+    ExecutorService executor = Executors.newFixedThreadPool( 8);
+    try
+      {
+      // When...
+      List<Future<List<String>>> ranked =
+        guesses.stream()
+        .map( guess -> executor.submit( () -> wordles.narrowed( guess, pattern).getRankedGuesses( Rankings.byCombined)))
+        .collect( toList());
+
+      // Then...
+      for( int i = 0; i < guesses.size(); i++)
+        {
+        assertThat( guesses.get(i), ranked.get(i).get(), is( expected.get(i)));
+        }
+      }
+    finally
+      {
+      executor.shutdown();
+      }
+    }
+
+  @Test
+  public void whenInteractivePrintAll() throws Exception
+    {
+    // Given...
+    File wordFile = getResourceFile( "words-guppy.txt");
+    StringBuffer interactiveOut = new StringBuffer();
+    StringBuffer printAllOut = new StringBuffer();
+
+    // When...
+    runWithStdIO(
+      () -> {
+      Wordles.run( new Wordles.Options( new String[]{ "-a", "-i", wordFile.getPath()}));
+      },
+      "\nq\n",
+      interactiveOut);
+    runWithStdIO(
+      () -> {
+      Wordles.run( new Wordles.Options( new String[]{ "-a", wordFile.getPath()}));
+      },
+      (String) null,
+      printAllOut);
+
+    // Then...
+    assertThat( "Output", interactiveOut.toString(), is( printAllOut.toString()));
+    assertThat( "Prompt", interactiveOut.toString(), not( containsString( "Next guess?")));
+    }
+
+  @Test
+  public void whenInteractiveNarrowed() throws Exception
+    {
+    // Given...
+    Wordles.Options options = new Wordles.Options( new String[]{ "-i", getResourceFile( "words-guppy.txt").getPath()});
+    StringBuffer stdOut = new StringBuffer();
+
+    // When...
+    runWithStdIO(
+      () -> {
+      Wordles.run( options);
+      },
+      "guppy .G..g\nbunny xxx\nq\n",
+      stdOut);
+
+    // Then...
+    String output = stdOut.toString();
+    assertThat( "Remaining", output, containsString( "3 possible targets remaining"));
+    assertThat( "Best guess", output, containsString( "BUMPY    [ 3 | 1 | 0.000 ]"));
+    assertThat( "Invalid pattern", output, containsString( "Try again."));
+    }
+  
+  @Test
+  public void whenInteractiveHardMode() throws Exception
+    {
+    // Given...
+    Wordles.Options options = new Wordles.Options( new String[]{ "-i", "-hard", getResourceFile( "words-guppy.txt").getPath()});
+    StringBuffer stdOut = new StringBuffer();
+
+    // When...
+    runWithStdIO(
+      () -> {
+      Wordles.run( options);
+      },
+      "guppy .G..G\nbumpy G.GGG\nfunny .GGGG\nq\n",
+      stdOut);
+
+    // Then...
+    String output = stdOut.toString();
+    assertThat( "Remaining", output, containsString( "3 possible targets remaining"));
+    assertThat( "Legal", output, containsString( "3 legal guesses remaining"));
+    assertThat( "Best guess", output, containsString( "BUNNY    [ 3 | 1 | 0.000 ]"));
+    assertThat( "Illegal guess", output, containsString( "BUMPY does not use all of the clues revealed so far. Try again."));
+    assertThat( "Last guess", output, containsString( "1 legal guess remaining"));
+    }
+
+  @Test
+  public void whenCollapsed() throws Exception
+    {
+    // Given...
+    Wordles wordles = new Wordles( WordLists.randomWords( 400).stream().distinct().collect( toList()));
+    Wordles narrowed = wordles.narrowed( "ABBEY", WordPattern.valueOf( "...y."));
+    List<WordPatternGroups> all = Rankings.rankedByKey( narrowed.getWordPatternGroups(), Rankings.byCombined);
+
+    // When...
+    narrowed.setCollapsed( true);
+    List<WordPatternGroups> collapsed = Rankings.rankedByKey( narrowed.getWordPatternGroups(), Rankings.byCombined);
+
+    // Then...
+    List<String> equivalents = collapsed.stream().flatMap( groups -> groups.getEquivalents().stream()).collect( toList());
+    assertThat( "Equivalents", equivalents.isEmpty(), is( false));
+    assertThat( "Collapsed", collapsed.size() + equivalents.size(), is( all.size()));
+    assertThat(
+      "Ranked",
+      collapsed.stream().map( WordPatternGroups::getGuess).collect( toList()),
+      listsMembers( all.stream().map( WordPatternGroups::getGuess).filter( guess -> !equivalents.contains( guess)).collect( toList())));
+    for( WordPatternGroups groups : collapsed)
+      {
+      for( String equivalent : groups.getEquivalents())
+        {
+        WordPatternGroups equivalentGroups = narrowed.getWordPatternGroups( equivalent);
+        assertThat( "Size", equivalentGroups.getSize(), is( groups.getSize()));
+        assertThat( "Sum of squares", equivalentGroups.getSumOfSquares(), is( groups.getSumOfSquares()));
+        }
+      }
+    assertThat(
+      "Best",
+      narrowed.getBestWordPatternGroups( Rankings.byCombined, 3).stream().map( WordPatternGroups::getGuess).collect( toList()),
+      listsMembers( collapsed.subList( 0, 3).stream().map( WordPatternGroups::getGuess).collect( toList())));
+
+    // Given...
+    Wordles.Options options = new Wordles.Options( new String[]{ "-i", "-collapse", getResourceFile( "words-guppy.txt").getPath()});
+    StringBuffer stdOut = new StringBuffer();
+
+    // When...
+    runWithStdIO(
+      () -> {
+      Wordles.run( options);
+      },
+      "guppy .G..G\nq\n",
+      stdOut);
+
+    // Then...
+    String output = stdOut.toString();
+    assertThat( "Best guess", output, containsString( String.format( "BUMPY    [ 3 | 1 | 0.000 ]%n--------------------------%n%n  Equivalent: UNIFY%n")));
+    }
+
+  @Test
+  public void whenCollapsedNarrowed() throws Exception
+    {
+    for( boolean hardMode : new boolean[]{ false, true})
+      {
+      // Given...
+      List<String> words = WordLists.randomWords( 600).stream().distinct().collect( toList());
+      List<String> guesses = words.subList( 0, 500);
+      List<String> targets = words.subList( 100, words.size());
+      String target = targets.get( 7);
+
+      Wordles reused = new Wordles( guesses, targets);
+      reused.setHardMode( hardMode);
+      reused.setCollapsed( true);
+      Wordles fresh = new Wordles( guesses, targets);
+      fresh.setHardMode( hardMode);
+
+      for( int level = 0; level < 2; level++)
+        {
+        // When...
+        String guess = reused.getBestWordPatternGroups( Rankings.byCombined, 1).get(0).getGuess();
+        WordPattern pattern = WordPattern.valueOf( WordPattern.patternCode( target, guess));
+        reused = reused.narrowed( guess, pattern);
+        fresh = fresh.narrowed( guess, pattern);
+        fresh.setCollapsed( true);
+
+        // Then...
+        assertThat( "Equivalents", equivalents( reused), is( equivalents( fresh)));
+        fresh.setCollapsed( false);
+        }
+      assertThat( "Collapsed", equivalents( reused).values().stream().anyMatch( equivalents -> !equivalents.isEmpty()), is( !hardMode));
+      }
+    }
+
+  /**
+   * Returns the equivalent guesses listed for each guess ranked by the given Wordles.
+   */
+  private Map<String,List<String>> equivalents( Wordles wordles)
+    {
+    return wordles.getWordPatternGroups().stream().collect( toMap( WordPatternGroups::getGuess, WordPatternGroups::getEquivalents));
+    }
+
+  @Test
+  public void whenSolve() throws Exception
+    {
+    // Given...
+    Wordles.Options options = new Wordles.Options( new String[]{ "-solve", getResourceFile( "words-guppy.txt").getPath()});
+    StringBuffer stdOut = new StringBuffer();
+
+    // When...
+    runWithStdIO(
+      () -> {
+      Wordles.run( options);
+      },
+      (String) null,
+      stdOut);
+
+    // Then...
+    String output = stdOut.toString();
+    assertThat( "Average", output, containsString( "Average guesses: 2.167 (26 / 12)"));
+    assertThat( "Maximum", output, containsString( "Maximum guesses: 3"));
+    assertThat( "Branch", output, containsString( "    .GGGG JUMPY"));
+    }
+
+  @Test
+  public void whenCompiled() throws Exception
+    {
+    // Given...
+    File wordFile = getResourceFile( "words-valid.txt");
+    File compiled = tempDir_.newFile();
+    StringBuffer textOut = new StringBuffer();
+    StringBuffer compiledOut = new StringBuffer();
+
+    // When...
+    runWithStdIO(
+      () -> {
+      Wordles.run( new Wordles.Options( new String[]{ "-compile", compiled.getPath(), wordFile.getPath()}));
+      Wordles.run( new Wordles.Options( new String[]{ "-top", "3", wordFile.getPath()}));
+      },
+      (String) null,
+      textOut);
+    runWithStdIO(
+      () -> {
+      Wordles.run( new Wordles.Options( new String[]{ "-top", "3", compiled.getPath()}));
+      },
+      (String) null,
+      compiledOut);
+
+    // Then...
+    assertThat( "Output", compiledOut.toString(), is( textOut.toString()));
+    }
+
+  @Test
+  public void whenBatch() throws Exception
+    {
+    // Given...
+    File batchFile = tempDir_.newFile();
+    Files.write( batchFile.toPath(), Arrays.asList( "guppy crane", "bumpy guppy"));
+    Wordles.Options options = new Wordles.Options( new String[]{ "-threads", "2", "-batch", batchFile.getPath(), getResourceFile( "words-guppy.txt").getPath()});
+    StringBuffer stdOut = new StringBuffer();
+
+    // When...
+    runWithStdIO(
+      () -> {
+      Wordles.run( options);
+      },
+      (String) null,
+      stdOut);
+
+    // Then...
+    assertThat(
+      "Output",
+      stdOut.toString().split( "\\R"),
+      is( new String[]{
+          "guess,groups,max,variance",
+          "GUPPY,9,3,0.444",
+          "CRANE,3,7,4.667",
+          "BUMPY,8,2,0.250",
+          "GUPPY,9,3,0.444"}));
+    }
+
+  @Test
+  public void whenBatchCollapsed() throws Exception
+    {
+    // Given...
+    File targetFile = tempDir_.newFile();
+    Files.write( targetFile.toPath(), Arrays.asList( "BUNNY", "FUNNY", "MUMMY"));
+    File guessFile = tempDir_.newFile();
+    Files.write( guessFile.toPath(), Arrays.asList( "GUPPY", "PUPPY", "BUMPY"));
+    File batchFile = tempDir_.newFile();
+    Files.write( batchFile.toPath(), Arrays.asList( "puppy crane", "bumpy"));
+    StringBuffer csvOut = new StringBuffer();
+    StringBuffer jsonOut = new StringBuffer();
+    Locale defaultLocale = Locale.getDefault();
+
+    try
+      {
+      Locale.setDefault( Locale.GERMANY);
+
+      // When...
+      runWithStdIO(
+        () -> {
+        Wordles.run( new Wordles.Options( new String[]{ "-collapse", "-g", guessFile.getPath(), "-batch", batchFile.getPath(), targetFile.getPath()}));
+        },
+        (String) null,
+        csvOut);
+      runWithStdIO(
+        () -> {
+        Wordles.run( new Wordles.Options( new String[]{ "-collapse", "-format", "jsonl", "-g", guessFile.getPath(), "-batch", batchFile.getPath(), targetFile.getPath()}));
+        },
+        (String) null,
+        jsonOut);
+      }
+    finally
+      {
+      Locale.setDefault( defaultLocale);
+      }
+
+    // Then...
+    assertThat(
+      "CSV",
+      csvOut.toString().split( "\\R"),
+      is( new String[]{
+          "guess,groups,max,variance,equivalents",
+          "PUPPY,1,3,0.000,GUPPY",
+          "CRANE,2,2,0.250,",
+          "BUMPY,3,1,0.000,"}));
+    assertThat(
+      "JSON",
+      jsonOut.toString().split( "\\R"),
+      is( new String[]{
+          "{\"guess\":\"PUPPY\",\"groups\":1,\"max\":3,\"variance\":0.000,\"equivalents\":[\"GUPPY\"]}",
+          "{\"guess\":\"CRANE\",\"groups\":2,\"max\":2,\"variance\":0.250,\"equivalents\":[]}",
+          "{\"guess\":\"BUMPY\",\"groups\":3,\"max\":1,\"variance\":0.000,\"equivalents\":[]}"}));
+    }
+
+  @Rule
+  public TemporaryFolder tempDir_ = new TemporaryFolder();
   }